@@ -0,0 +1,110 @@
+package com.VSong.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 키워드별 contains 반복과 KeywordMatcher 한 번 훑기를 비교합니다.
+ * VtuberValidationService의 실제 키워드 목록으로 매처를 만들고, 채널/동영상 설명 예시를 운영 코드처럼
+ * 원문 한 번, 소문자로 한 번 바꾼 텍스트 한 번 훑습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeywordMatcherBenchmark {
+
+    private static final List<String> CHANNEL_DESCRIPTIONS = List.of(
+            "안녕하세요! 스텔라이브 소속 버츄얼 유튜버 입니다 ✨ 매주 화/목/토 저녁 8시에 방송해요.\n"
+                    + "노래, 잡담, 게임 방송을 주로 하고 있어요. 팬아트는 #그림태그 로 올려주세요!\n"
+                    + "Live2D 모델: @rigger_kim / 일러스트: @illust_park\n"
+                    + "비즈니스 문의: contact@example.com\n치지직: https://chzzk.naver.com/example",
+            "Korean VTuber singing covers and originals 🎤 Debut 2023.04.01\n"
+                    + "Original songs on Spotify / Melon / Apple Music\n"
+                    + "Streaming schedule: Mon, Wed, Fri 9PM KST on Twitch\n"
+                    + "Mixing & mastering by studio partner. Fan art tag: #myfanart",
+            "게임과 일상을 공유하는 채널입니다. 브이로그, 먹방, 여행 영상이 올라옵니다.\n"
+                    + "협찬 및 광고 문의는 메일로 부탁드립니다. 구독과 좋아요 부탁드려요!",
+            "개인세 버튜버 / 3D 방송 준비중 / 캐릭터 디자인 직접 함\n"
+                    + "첫방송 이후로 매일 저녁 라이브 스트림! 콜라보 환영합니다 💜\n"
+                    + "멤버십 가입하시면 다시보기와 비공개 노래방송을 보실 수 있어요.");
+
+    private static final List<String> VIDEO_DESCRIPTIONS = List.of(
+            "【Cover】 밤양갱 - 비비 (BIBI) | 버튜버 커버 🍡\n\n"
+                    + "Vocal: 채널주인\nMix & Mastering: @mixer_lee\nIllust: @artist_choi\nVideo: @movie_jung\n\n"
+                    + "원곡: https://www.youtube.com/watch?v=example\n가사\n"
+                    + "떠나는 길에 니가 내게 말했지 너는 바라는 게 너무나 많아\n"
+                    + "#cover #커버 #버튜버 #vtuber #노래",
+            "[MV] ORIGINAL SONG 「별빛 정류장」 Official Music Video\n\n"
+                    + "작사/작곡: 채널주인 편곡: @arranger\nSpotify, Melon, Apple Music 에서 들을 수 있어요!\n\n"
+                    + "Lyrics\n별빛이 내리는 정류장에서 너를 기다려\n#original #mv #vtuber",
+            "오늘의 게임 방송 다시보기 입니다! 풀영상은 멤버십에서 확인해 주세요.\n"
+                    + "00:00 시작\n12:34 보스전\n1:02:03 엔딩\n#게임 #다시보기 #클립",
+            "3D 쇼케이스 라이브 하이라이트 ✨ 모션캡처 장비 새로 들였어요!\n"
+                    + "이번 방송에서는 노래 3곡과 잡담, 콜라보 발표가 있었습니다.\n"
+                    + "Thank you for watching! Subscribe for more VTuber content.");
+
+    @Param({"channel", "video"})
+    private String descriptionKind;
+
+    private Map<VtuberValidationService.KeywordCategory, List<String>> caseSensitiveKeywords;
+    private Map<VtuberValidationService.KeywordCategory, List<String>> lowerCaseKeywords;
+    private KeywordMatcher<VtuberValidationService.KeywordCategory> caseSensitiveMatcher;
+    private KeywordMatcher<VtuberValidationService.KeywordCategory> lowerCaseMatcher;
+    private List<String> descriptions;
+
+    @Setup
+    public void setUp() {
+        caseSensitiveKeywords = VtuberValidationService.caseSensitiveKeywords();
+        lowerCaseKeywords = VtuberValidationService.lowerCaseKeywords();
+        caseSensitiveMatcher = VtuberValidationService.buildMatcher(caseSensitiveKeywords);
+        lowerCaseMatcher = VtuberValidationService.buildMatcher(lowerCaseKeywords);
+        descriptions = "channel".equals(descriptionKind) ? CHANNEL_DESCRIPTIONS : VIDEO_DESCRIPTIONS;
+    }
+
+    @Benchmark
+    public void containsLoop(Blackhole blackhole) {
+        for (String description : descriptions) {
+            String lowerDescription = description.toLowerCase();
+            consumeContains(caseSensitiveKeywords, description, blackhole);
+            consumeContains(lowerCaseKeywords, lowerDescription, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void keywordMatcher(Blackhole blackhole) {
+        for (String description : descriptions) {
+            String lowerDescription = description.toLowerCase();
+            consumeMatches(caseSensitiveMatcher.scan(description), caseSensitiveKeywords, blackhole);
+            consumeMatches(lowerCaseMatcher.scan(lowerDescription), lowerCaseKeywords, blackhole);
+        }
+    }
+
+    // 카테고리마다 목록 순서상 첫 일치 키워드와 일치 수를 구함 (KeywordMatcher.Result와 같은 정보)
+    private static void consumeContains(Map<VtuberValidationService.KeywordCategory, List<String>> keywords,
+                                        String text, Blackhole blackhole) {
+        keywords.forEach((category, categoryKeywords) -> {
+            blackhole.consume(categoryKeywords.stream().filter(text::contains).findFirst().orElse(null));
+            blackhole.consume(categoryKeywords.stream().filter(text::contains).distinct().count());
+        });
+    }
+
+    private static void consumeMatches(KeywordMatcher.Result<VtuberValidationService.KeywordCategory> result,
+                                       Map<VtuberValidationService.KeywordCategory, List<String>> keywords,
+                                       Blackhole blackhole) {
+        for (VtuberValidationService.KeywordCategory category : keywords.keySet()) {
+            blackhole.consume(result.firstMatch(category));
+            blackhole.consume(result.count(category));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.VSong.config;
+
+import com.google.api.client.http.LowLevelHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 본문을 메모리에 들고 있는 응답. OfflineYouTubeTransport의 합성 응답과 RecordingTransport의 녹화 후 응답 복사본에 사용합니다.
+ */
+final class BufferedHttpResponse extends LowLevelHttpResponse {
+
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final String contentType;
+    private final byte[] content;
+    private final List<String> headerNames = new ArrayList<>();
+    private final List<String> headerValues = new ArrayList<>();
+
+    BufferedHttpResponse(int statusCode, String reasonPhrase, String contentType, byte[] content) {
+        this.statusCode = statusCode;
+        this.reasonPhrase = reasonPhrase;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    static BufferedHttpResponse json(int statusCode, String reasonPhrase, String body) {
+        return new BufferedHttpResponse(statusCode, reasonPhrase, "application/json; charset=UTF-8",
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    BufferedHttpResponse addHeader(String name, String value) {
+        headerNames.add(name);
+        headerValues.add(value);
+        return this;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return null;
+    }
+
+    @Override
+    public long getContentLength() {
+        return content.length;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getStatusLine() {
+        return "HTTP/1.1 " + statusCode + (reasonPhrase != null ? " " + reasonPhrase : "");
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    @Override
+    public int getHeaderCount() {
+        return headerNames.size();
+    }
+
+    @Override
+    public String getHeaderName(int index) {
+        return headerNames.get(index);
+    }
+
+    @Override
+    public String getHeaderValue(int index) {
+        return headerValues.get(index);
+    }
+}
@@ -0,0 +1,158 @@
+package com.VSong.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 공유 httpclient5 비동기 클라이언트 위에서 동작하는 google-http-client 전송 계층.
+ * HttpURLConnection 기반 기본 전송 대신 풀링된 keep-alive 연결(TLS 협상 시 HTTP/2 다중화)을 여러 작업 스레드가 함께 사용합니다.
+ * gzip은 google-http-client가 Accept-Encoding 헤더를 붙이고 응답을 직접 풀기 때문에 여기서는 본문을 그대로 전달합니다.
+ */
+public class HttpClient5Transport extends HttpTransport {
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    public HttpClient5Transport(CloseableHttpAsyncClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(method, url);
+    }
+
+    private class Request extends LowLevelHttpRequest {
+
+        private final SimpleHttpRequest request;
+
+        Request(String method, String url) {
+            this.request = SimpleHttpRequest.create(method, url);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            request.addHeader(name, value);
+        }
+
+        // 연결 타임아웃은 공유 연결 관리자의 ConnectionConfig(http-client.connect-timeout-seconds)가 적용하므로
+        // 여기서는 응답 타임아웃만 요청별로 설정
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            request.setConfig(RequestConfig.custom()
+                    .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                    .build());
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            if (getStreamingContent() != null) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                getStreamingContent().writeTo(body);
+                String contentType = getContentType() != null ? getContentType() : "application/json";
+                request.setBody(body.toByteArray(), ContentType.parse(contentType));
+                if (getContentEncoding() != null) {
+                    request.addHeader("Content-Encoding", getContentEncoding());
+                }
+            }
+            Future<SimpleHttpResponse> future = httpClient.execute(request, null);
+            try {
+                return new Response(future.get());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("HTTP 요청 대기 중 인터럽트 발생: " + request.getRequestUri(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("HTTP 요청 실패: " + request.getRequestUri(), cause);
+            }
+        }
+    }
+
+    private static class Response extends LowLevelHttpResponse {
+
+        private final SimpleHttpResponse response;
+        private final Header[] headers;
+
+        Response(SimpleHttpResponse response) {
+            this.response = response;
+            this.headers = response.getHeaders();
+        }
+
+        @Override
+        public InputStream getContent() {
+            byte[] body = response.getBodyBytes();
+            return body != null ? new ByteArrayInputStream(body) : null;
+        }
+
+        @Override
+        public String getContentEncoding() {
+            Header header = response.getFirstHeader("Content-Encoding");
+            return header != null ? header.getValue() : null;
+        }
+
+        @Override
+        public long getContentLength() {
+            byte[] body = response.getBodyBytes();
+            return body != null ? body.length : 0;
+        }
+
+        @Override
+        public String getContentType() {
+            Header header = response.getFirstHeader("Content-Type");
+            return header != null ? header.getValue() : null;
+        }
+
+        @Override
+        public String getStatusLine() {
+            return response.getVersion() + " " + response.getCode() + " " + response.getReasonPhrase();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.getCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return response.getReasonPhrase();
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headers.length;
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headers[index].getName();
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headers[index].getValue();
+        }
+    }
+}
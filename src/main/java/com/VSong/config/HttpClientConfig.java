@@ -0,0 +1,51 @@
+package com.VSong.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HttpClientConfig {
+
+    // 외부 HTTP 수집(RSS 등)에 공유하는 비동기 클라이언트. TLS 협상으로 HTTP/2를 사용하고 연결을 풀링함
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient asyncHttpClient(
+            @Value("${http-client.max-connections:64}") int maxConnections,
+            @Value("${http-client.max-connections-per-route:32}") int maxConnectionsPerRoute,
+            @Value("${http-client.connect-timeout-seconds:10}") int connectTimeoutSeconds,
+            @Value("${http-client.timeout-seconds:30}") int timeoutSeconds) {
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                // 연결 타임아웃은 연결 관리자 설정으로만 적용됨 (요청별 RequestConfig에는 없음)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(connectTimeoutSeconds))
+                        .setSocketTimeout(Timeout.ofSeconds(timeoutSeconds))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofSeconds(timeoutSeconds))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMinutes(1))
+                .build();
+        client.start();
+        return client;
+    }
+}
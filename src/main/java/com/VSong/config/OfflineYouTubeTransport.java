@@ -0,0 +1,276 @@
+package com.VSong.config;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.youtube.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 네트워크와 API 키 없이 수집 작업을 실행하기 위한 YouTube Data API 대역.
+ * channels / playlistItems / videos / search 요청에 ID에서 결정적으로 만든 합성 응답을 돌려주며,
+ * 지연, 페이지 나눔, quotaExceeded, 동영상 삭제를 설정한 비율로 흉내 냅니다.
+ * replayDir가 있으면 RecordingTransport로 녹화한 응답이 합성 응답보다 우선합니다.
+ */
+public class OfflineYouTubeTransport extends HttpTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfflineYouTubeTransport.class);
+    private static final JsonFactory JSON = JacksonFactory.getDefaultInstance();
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final Settings settings;
+
+    public OfflineYouTubeTransport(Settings settings) {
+        this.settings = settings;
+        logger.info("오프라인 YouTube API 대역 사용 - 채널당 동영상 {}개, 지연 {}ms, quotaExceeded {}, 삭제 {}",
+                settings.videosPerChannel, settings.latencyMillis, settings.quotaExceededRate, settings.deletionRate);
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new LowLevelHttpRequest() {
+            @Override
+            public void addHeader(String name, String value) {
+                // 합성 응답은 요청 헤더를 사용하지 않음
+            }
+
+            @Override
+            public LowLevelHttpResponse execute() throws IOException {
+                simulateLatency();
+                return respond(new GenericUrl(url));
+            }
+        };
+    }
+
+    private LowLevelHttpResponse respond(GenericUrl url) throws IOException {
+        if (settings.replayDir != null) {
+            Path recorded = settings.replayDir.resolve(RecordingTransport.recordingName(url));
+            if (Files.exists(recorded)) {
+                return jsonResponse(200, Files.readString(recorded));
+            }
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.quotaExceededRate) {
+            return errorResponse(403, "youtube.quota", "quotaExceeded", "The request cannot be completed because you have exceeded your quota.");
+        }
+        if (roll < settings.quotaExceededRate + settings.rateLimitRate) {
+            return errorResponse(403, "youtube.quota", "rateLimitExceeded", "Rate limit exceeded.");
+        }
+
+        List<String> path = url.getPathParts();
+        String resource = path.isEmpty() ? "" : path.get(path.size() - 1);
+        switch (resource) {
+            case "channels":
+                return jsonResponse(200, JSON.toString(channels(ids(url))));
+            case "playlistItems":
+                return jsonResponse(200, JSON.toString(playlistItems(url)));
+            case "videos":
+                return jsonResponse(200, JSON.toString(videos(ids(url))));
+            case "search":
+                return jsonResponse(200, JSON.toString(search(url)));
+            default:
+                return errorResponse(404, "global", "notFound", "Offline transport does not support " + url.getRawPath());
+        }
+    }
+
+    private ChannelListResponse channels(List<String> channelIds) {
+        List<Channel> items = new ArrayList<>();
+        for (String channelId : channelIds) {
+            if (!channelId.startsWith("UC") || isDeleted(channelId)) continue;
+            long seed = seed(channelId);
+            Channel channel = new Channel();
+            channel.setId(channelId);
+            channel.setEtag(etag(channelId, 0));
+            channel.setSnippet(new ChannelSnippet()
+                    .setTitle("오프라인 버튜버 " + Math.floorMod(seed, 100000))
+                    .setDescription("버츄얼 유튜버 노래 커버 방송 채널입니다.")
+                    .setThumbnails(new ThumbnailDetails().setDefault(new Thumbnail()
+                            .setUrl("https://offline.invalid/" + channelId + ".jpg"))));
+            channel.setStatistics(new ChannelStatistics()
+                    .setSubscriberCount(BigInteger.valueOf(1000 + Math.floorMod(seed, 500000))));
+            channel.setContentDetails(new ChannelContentDetails().setRelatedPlaylists(
+                    new ChannelContentDetails.RelatedPlaylists().setUploads("UU" + channelId.substring(2))));
+            items.add(channel);
+        }
+        return new ChannelListResponse().setItems(items).setEtag(etag(String.join(",", channelIds), 0));
+    }
+
+    // 최신순 업로드 목록. 동영상 ID는 채널 ID와 순번으로 만들어 videos 응답에서 다시 풀어냄
+    private PlaylistItemListResponse playlistItems(GenericUrl url) {
+        String playlistId = (String) url.getFirst("playlistId");
+        String channelId = "UC" + playlistId.substring(2);
+        int pageSize = intParam(url, "maxResults", 5);
+        int offset = intParam(url, "pageToken", 0);
+        int total = settings.videosPerChannel;
+
+        List<PlaylistItem> items = new ArrayList<>();
+        for (int index = offset; index < Math.min(offset + pageSize, total); index++) {
+            items.add(new PlaylistItem()
+                    .setSnippet(new PlaylistItemSnippet().setTitle(index % 2 == 0 ? "노래 방송 #" + index : "잡담 라이브 #" + index))
+                    .setContentDetails(new PlaylistItemContentDetails()
+                            .setVideoId(videoId(channelId, index))
+                            .setVideoPublishedAt(publishedAt(index))));
+        }
+        PlaylistItemListResponse response = new PlaylistItemListResponse().setItems(items);
+        if (offset + pageSize < total) {
+            response.setNextPageToken(Integer.toString(offset + pageSize));
+        }
+        return response;
+    }
+
+    private VideoListResponse videos(List<String> videoIds) {
+        List<Video> items = new ArrayList<>();
+        for (String videoId : videoIds) {
+            if (isDeleted(videoId)) continue;
+            int separator = videoId.lastIndexOf('_');
+            String channelId = separator > 0 ? videoId.substring(0, separator) : "UCoffline";
+            int index = separator > 0 ? Integer.parseInt(videoId.substring(separator + 1)) : 0;
+            long seed = seed(videoId);
+            boolean song = Math.floorMod(seed, 1000) < settings.songRate * 1000;
+            boolean shorts = Math.floorMod(seed >> 10, 4) == 0;
+
+            Video video = new Video();
+            video.setId(videoId);
+            video.setEtag(etag(videoId, 0));
+            video.setSnippet(new VideoSnippet()
+                    .setChannelId(channelId)
+                    .setTitle(song ? "[MV] 오프라인 노래 커버 #" + index : "오프라인 잡담 방송 #" + index)
+                    .setDescription(song ? "vocal / mixing / 가사" : "방송 다시보기")
+                    .setCategoryId(song ? "10" : "22")
+                    .setPublishedAt(publishedAt(index)));
+            video.setContentDetails(new VideoContentDetails().setDuration(shorts ? "PT45S" : "PT3M30S"));
+            // 호출할 때마다 조금씩 늘어나는 조회수
+            long views = Math.floorMod(seed, 1_000_000) + System.currentTimeMillis() / DAY_MILLIS % 1000 * 10;
+            video.setStatistics(new VideoStatistics().setViewCount(BigInteger.valueOf(views)));
+            items.add(video);
+        }
+        return new VideoListResponse().setItems(items);
+    }
+
+    private SearchListResponse search(GenericUrl url) {
+        List<SearchResult> items = new ArrayList<>();
+        int pageSize = intParam(url, "maxResults", 5);
+        Object channelId = url.getFirst("channelId");
+        if (channelId != null) {
+            // 채널 최근 동영상 검색
+            for (int index = 0; index < pageSize; index++) {
+                items.add(new SearchResult().setId(new ResourceId().setKind("youtube#video").setVideoId(videoId((String) channelId, index)))
+                        .setSnippet(new SearchResultSnippet().setTitle(index % 2 == 0 ? "노래 방송 #" + index : "잡담 라이브 #" + index)));
+            }
+            return new SearchListResponse().setItems(items);
+        }
+        // 채널 검색: 검색어와 페이지마다 결정적인 채널 ID
+        String query = String.valueOf(url.getFirst("q"));
+        int page = intParam(url, "pageToken", 0);
+        for (int index = 0; index < pageSize; index++) {
+            String id = String.format("UC%022d", Math.floorMod(seed(query + ":" + page + ":" + index), 10_000_000_000L));
+            items.add(new SearchResult().setId(new ResourceId().setKind("youtube#channel").setChannelId(id)));
+        }
+        SearchListResponse response = new SearchListResponse().setItems(items);
+        if (page + 1 < settings.searchPages) {
+            response.setNextPageToken(Integer.toString(page + 1));
+        }
+        return response;
+    }
+
+    private boolean isDeleted(String id) {
+        return Math.floorMod(seed("deleted:" + id), 10_000) < settings.deletionRate * 10_000;
+    }
+
+    private static String videoId(String channelId, int index) {
+        return channelId + "_" + index;
+    }
+
+    private static DateTime publishedAt(int index) {
+        return new DateTime(System.currentTimeMillis() - (index + 1L) * DAY_MILLIS);
+    }
+
+    private static String etag(String id, int version) {
+        return "\"" + Long.toHexString(seed(id + "#" + version)) + "\"";
+    }
+
+    private static long seed(String value) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private static List<String> ids(GenericUrl url) {
+        Object id = url.getFirst("id");
+        return id == null ? List.of() : Arrays.asList(String.valueOf(id).split(","));
+    }
+
+    private static int intParam(GenericUrl url, String name, int defaultValue) {
+        Object value = url.getFirst(name);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private void simulateLatency() throws IOException {
+        if (settings.latencyMillis <= 0) return;
+        long jitter = ThreadLocalRandom.current().nextLong(settings.latencyMillis / 2 + 1);
+        try {
+            Thread.sleep(settings.latencyMillis + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("오프라인 응답 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private static BufferedHttpResponse jsonResponse(int status, String body) {
+        return BufferedHttpResponse.json(status, null, body);
+    }
+
+    private static BufferedHttpResponse errorResponse(int status, String domain, String reason, String message) throws IOException {
+        Map<String, Object> error = Map.of(
+                "code", status,
+                "message", message,
+                "errors", List.of(Map.of("domain", domain, "reason", reason, "message", message)));
+        return BufferedHttpResponse.json(status, reason, JSON.toString(Map.of("error", error)));
+    }
+
+    public static class Settings {
+        private final int videosPerChannel;
+        private final int searchPages;
+        private final long latencyMillis;
+        private final double quotaExceededRate;
+        private final double rateLimitRate;
+        private final double deletionRate;
+        private final double songRate;
+        private final Path replayDir;
+
+        public Settings(int videosPerChannel, int searchPages, long latencyMillis, double quotaExceededRate,
+                        double rateLimitRate, double deletionRate, double songRate, Path replayDir) {
+            this.videosPerChannel = videosPerChannel;
+            this.searchPages = searchPages;
+            this.latencyMillis = latencyMillis;
+            this.quotaExceededRate = quotaExceededRate;
+            this.rateLimitRate = rateLimitRate;
+            this.deletionRate = deletionRate;
+            this.songRate = songRate;
+            this.replayDir = replayDir;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.VSong.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    // saveAll로 처리되는 update/delete 문을 JDBC 배치로 묶음 (IDENTITY 키의 insert는 VtuberSongsBulkRepository 사용)
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchCustomizer(@Value("${song-write.batch-size:500}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.VSong.config;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HttpClient5Transport를 감싸 성공(200) 응답 본문을 요청별 파일로 저장합니다.
+ * 저장된 파일은 OfflineYouTubeTransport가 같은 요청에 대해 그대로 재생합니다. 파일 이름에는 API 키가 포함되지 않습니다.
+ */
+public class RecordingTransport extends HttpTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingTransport.class);
+
+    private final HttpClient5Transport delegate;
+    private final Path recordDir;
+
+    public RecordingTransport(HttpClient5Transport delegate, Path recordDir) throws IOException {
+        this.delegate = delegate;
+        this.recordDir = Files.createDirectories(recordDir);
+        logger.info("YouTube API 응답 녹화 사용: {}", recordDir);
+    }
+
+    /**
+     * 요청을 식별하는 파일 이름. key 파라미터를 제외한 쿼리를 정렬해 해시하므로 키가 달라도 같은 녹화를 사용합니다.
+     */
+    static String recordingName(GenericUrl url) {
+        Map<String, Object> params = new TreeMap<>(url);
+        params.remove("key");
+        List<String> pathParts = url.getPathParts();
+        String resource = pathParts == null || pathParts.isEmpty() ? "root" : pathParts.get(pathParts.size() - 1);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((url.getRawPath() + "?" + params).getBytes(StandardCharsets.UTF_8));
+            return resource + "-" + HexFormat.of().formatHex(hash, 0, 12) + ".json";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return delegate.supportsMethod(method);
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(delegate.buildRequest(method, url), url);
+    }
+
+    private class Request extends LowLevelHttpRequest {
+
+        private final LowLevelHttpRequest request;
+        private final String url;
+
+        Request(LowLevelHttpRequest request, String url) {
+            this.request = request;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) throws IOException {
+            request.addHeader(name, value);
+        }
+
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) throws IOException {
+            request.setTimeout(connectTimeout, readTimeout);
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            request.setStreamingContent(getStreamingContent());
+            request.setContentType(getContentType());
+            request.setContentEncoding(getContentEncoding());
+            request.setContentLength(getContentLength());
+            LowLevelHttpResponse response = request.execute();
+            if (response.getStatusCode() != 200) {
+                return response;
+            }
+
+            byte[] body = readBody(response);
+            Files.write(recordDir.resolve(recordingName(new GenericUrl(url))), body);
+
+            BufferedHttpResponse copy = new BufferedHttpResponse(response.getStatusCode(),
+                    response.getReasonPhrase(), response.getContentType(), body);
+            for (int i = 0; i < response.getHeaderCount(); i++) {
+                String name = response.getHeaderName(i);
+                if (!"Content-Encoding".equalsIgnoreCase(name) && !"Content-Length".equalsIgnoreCase(name)) {
+                    copy.addHeader(name, response.getHeaderValue(i));
+                }
+            }
+            return copy;
+        }
+
+        // 녹화 파일은 압축을 푼 JSON으로 저장
+        private byte[] readBody(LowLevelHttpResponse response) throws IOException {
+            InputStream content = response.getContent();
+            if (content == null) {
+                return new byte[0];
+            }
+            if (response.getContentEncoding() != null && response.getContentEncoding().toLowerCase().contains("gzip")) {
+                content = new GZIPInputStream(content);
+            }
+            try (InputStream in = content; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                in.transferTo(out);
+                return out.toByteArray();
+            }
+        }
+    }
+}
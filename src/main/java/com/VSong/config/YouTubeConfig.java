@@ -1,24 +1,58 @@
 package com.VSong.config;
 
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.youtube.YouTube;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 
 @Configuration
 public class YouTubeConfig {
 
+    // youtube.http.transport=javanet(기본): 기존 HttpURLConnection 전송, httpclient5: 공유 커넥션 풀 사용 (선택),
+    // offline: 네트워크 없이 합성/녹화 응답 사용 (부하 및 회귀 테스트용)
     @Bean
-    public YouTube youTube() throws GeneralSecurityException, IOException {
+    public YouTube youTube(CloseableHttpAsyncClient asyncHttpClient,
+                           Environment environment,
+                           @Value("${youtube.http.transport:javanet}") String transportType,
+                           @Value("${youtube.http.record-dir:}") String recordDir) throws GeneralSecurityException, IOException {
+        HttpTransport transport;
+        if ("offline".equalsIgnoreCase(transportType)) {
+            transport = new OfflineYouTubeTransport(offlineSettings(environment));
+        } else if ("httpclient5".equalsIgnoreCase(transportType)) {
+            // 응답 녹화(youtube.http.record-dir)는 httpclient5 전송에서만 지원
+            transport = recordDir.isBlank()
+                    ? new HttpClient5Transport(asyncHttpClient)
+                    : new RecordingTransport(new HttpClient5Transport(asyncHttpClient), Paths.get(recordDir));
+        } else {
+            transport = GoogleNetHttpTransport.newTrustedTransport();
+        }
         return new YouTube.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
+                transport,
                 JacksonFactory.getDefaultInstance(),
                 request -> {})
                 .setApplicationName("vtuber-songs")
                 .build();
     }
+
+    private OfflineYouTubeTransport.Settings offlineSettings(Environment environment) {
+        String replayDir = environment.getProperty("youtube.offline.replay-dir", "");
+        return new OfflineYouTubeTransport.Settings(
+                environment.getProperty("youtube.offline.videos-per-channel", Integer.class, 200),
+                environment.getProperty("youtube.offline.search-pages", Integer.class, 3),
+                environment.getProperty("youtube.offline.latency-ms", Long.class, 50L),
+                environment.getProperty("youtube.offline.quota-exceeded-rate", Double.class, 0.0),
+                environment.getProperty("youtube.offline.rate-limit-rate", Double.class, 0.0),
+                environment.getProperty("youtube.offline.deletion-rate", Double.class, 0.01),
+                environment.getProperty("youtube.offline.song-rate", Double.class, 0.3),
+                replayDir.isBlank() ? null : Paths.get(replayDir));
+    }
 }
@@ -1,42 +1,26 @@
 package com.VSong.controller;
 
 import com.VSong.dto.MainPageResponse;
-import com.VSong.entity.VtuberSongsEntity;
-import com.VSong.service.SongService;
-import com.VSong.service.SortSongsService;
+import com.VSong.service.MainPageSnapshotService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/main")
 public class MainController {
 
-    private final SongService songService;
-    private final SortSongsService sortSongsService;
+    private final MainPageSnapshotService mainPageSnapshotService;
 
-    public MainController(SongService songService, SortSongsService sortSongsService) {
-        this.songService = songService;
-        this.sortSongsService = sortSongsService;
+    public MainController(MainPageSnapshotService mainPageSnapshotService) {
+        this.mainPageSnapshotService = mainPageSnapshotService;
     }
 
+    // 스케줄러 작업이 끝날 때마다 갱신되는 스냅샷에서 응답 (요청당 DB 조회 없음)
     @GetMapping
     public MainPageResponse getMainPage(
             @RequestParam(value = "gender", required = false, defaultValue = "all") String gender) {
-
-        List<VtuberSongsEntity> randomVideoSongs = songService.getRandomVideoSongs(9, gender);
-        List<VtuberSongsEntity> top10WeeklySongs = sortSongsService.getTop10SongsByViewsIncreaseWeek(gender);
-        List<VtuberSongsEntity> top10DailySongs = sortSongsService.getTop10SongsByViewsIncreaseDay(gender);
-        List<VtuberSongsEntity> top10RecentSongs = sortSongsService.getTop9SongsByPublishedAt(gender);
-
-        List<VtuberSongsEntity> randomShorts = songService.getRandomShortsSongs(9, gender);
-        List<VtuberSongsEntity> top10WeeklyShorts = sortSongsService.getTop10ShortsByViewsIncreaseWeek(gender);
-        List<VtuberSongsEntity> top9RecentShorts = sortSongsService.getTop9ShortsByPublishedAt(gender);
-
-        return new MainPageResponse(randomVideoSongs, top10WeeklySongs, top10DailySongs, top10RecentSongs,
-                randomShorts, top10WeeklyShorts, top9RecentShorts);
+        return mainPageSnapshotService.getMainPage(gender);
     }
 }
@@ -1,7 +1,9 @@
 package com.VSong.controller;
 
+import com.VSong.dto.ShuffledSongsPage;
 import com.VSong.entity.VtuberSongsEntity;
 import com.VSong.service.SongService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,4 +31,29 @@ public class RandomSongsController {
             @RequestParam(value = "gender", required = false, defaultValue = "all") String gender) {
         return songService.getRandomShortsSongs(limit, gender);
     }
+
+    // seed + cursor 셔플 페이징: 무한 스크롤에서 중복 없이 전체 노래를 무작위 순서로 순회
+    @GetMapping("/shuffle")
+    public ShuffledSongsPage getShuffledVideoSongs(
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "6") int limit,
+            @RequestParam(value = "gender", required = false, defaultValue = "all") String gender) {
+        return songService.getShuffledSongsPage("videos", gender, seed, cursor, limit);
+    }
+
+    @GetMapping("/shuffle-shorts")
+    public ShuffledSongsPage getShuffledShortsSongs(
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "6") int limit,
+            @RequestParam(value = "gender", required = false, defaultValue = "all") String gender) {
+        return songService.getShuffledSongsPage("shorts", gender, seed, cursor, limit);
+    }
+
+    // 잘못된 gender, cursor, seed 파라미터는 400으로 응답
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleInvalidParameter(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
 }
@@ -28,6 +28,18 @@ public class VtuberController {
         return new ResponseEntity<>(vtuberEntity, HttpStatus.CREATED);
     }
 
+    @PatchMapping("/{channelId}/gender")
+    public ResponseEntity<Void> updateGender(@PathVariable String channelId, @RequestBody VtuberRequest vtuberRequest) {
+        try {
+            if (!vtuberService.updateGender(channelId, vtuberRequest.getGender())) {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchVtubersAndSongs(
             @RequestParam(value = "query", required = false) String query,
@@ -0,0 +1,25 @@
+package com.VSong.dto;
+
+import com.VSong.entity.VtuberSongsEntity;
+import java.util.List;
+
+public class ShuffledSongsPage {
+    private List<VtuberSongsEntity> songs;
+    private long seed; // 세션 seed (nextCursor에도 담겨 있어 다음 요청에는 cursor만 보내면 됨)
+    private String nextCursor; // 마지막 페이지면 null
+
+    public ShuffledSongsPage(List<VtuberSongsEntity> songs, long seed, String nextCursor) {
+        this.songs = songs;
+        this.seed = seed;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<VtuberSongsEntity> getSongs() { return songs; }
+    public void setSongs(List<VtuberSongsEntity> songs) { this.songs = songs; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,90 @@
+package com.VSong.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 관련 채널 그래프 탐색의 노드. 관련 채널 페이지를 마지막으로 확인한 시각과 우선순위를 저장해
+ * 매 실행마다 전체를 다시 크롤링하지 않고 오래되었거나 아직 방문하지 않은 노드만 우선순위 순으로 확장합니다.
+ * priority는 이 노드에서 발견되어 버튜버로 저장된 이웃 수에, 노드를 발견한 부모에게서 물려받은 값을 더한 것입니다.
+ * 페이지를 읽지 못한 노드는 방문 처리하지 않고 failed_attempts에 따라 늘어나는 next_attempt_at까지 재시도를 미룹니다.
+ */
+@Entity
+@Table(name = "discovery_frontier",
+        uniqueConstraints = @UniqueConstraint(name = "uk_frontier_channel", columnNames = "channel_id"),
+        indexes = @Index(name = "idx_frontier_priority", columnList = "priority, last_visited_at"))
+public class DiscoveryFrontierEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "channel_id", length = 24, nullable = false)
+    private String channelId;
+    @Column(name = "last_visited_at")
+    private LocalDateTime lastVisitedAt; // null이면 아직 방문하지 않은 노드
+    @Column(name = "accepted_neighbors", nullable = false)
+    private int acceptedNeighbors;
+    @Column(name = "priority", nullable = false)
+    private int priority;
+    @Column(name = "failed_attempts", nullable = false)
+    private int failedAttempts; // 연속 실패 횟수, 성공하면 0으로 초기화
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt; // null이면 바로 확장 가능
+
+    // Getter와 Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public void setChannelId(String channelId) {
+        this.channelId = channelId;
+    }
+
+    public LocalDateTime getLastVisitedAt() {
+        return lastVisitedAt;
+    }
+
+    public void setLastVisitedAt(LocalDateTime lastVisitedAt) {
+        this.lastVisitedAt = lastVisitedAt;
+    }
+
+    public int getAcceptedNeighbors() {
+        return acceptedNeighbors;
+    }
+
+    public void setAcceptedNeighbors(int acceptedNeighbors) {
+        this.acceptedNeighbors = acceptedNeighbors;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public void setFailedAttempts(int failedAttempts) {
+        this.failedAttempts = failedAttempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
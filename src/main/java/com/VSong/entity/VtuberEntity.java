@@ -25,6 +25,14 @@ public class VtuberEntity {
     private String status;
     @Column(name = "last_processed_page_token")
     private String lastProcessedPageToken;
+    @Column(name = "latest_video_published_at")
+    private LocalDateTime latestVideoPublishedAt; // 업로드 재생목록 수집 워터마크
+    @Column(name = "feed_etag")
+    private String feedEtag; // RSS 피드 조건부 요청용
+    @Column(name = "feed_last_modified", length = 64)
+    private String feedLastModified;
+    @Column(name = "etag", length = 64)
+    private String etag; // channels.list 리소스 ETag (변경 여부 판단용)
 
     // Getter와 Setter
     public Long getId() {
@@ -106,4 +114,36 @@ public class VtuberEntity {
     public void setLastProcessedPageToken(String lastProcessedPageToken) {
         this.lastProcessedPageToken = lastProcessedPageToken;
     }
+
+    public LocalDateTime getLatestVideoPublishedAt() {
+        return latestVideoPublishedAt;
+    }
+
+    public void setLatestVideoPublishedAt(LocalDateTime latestVideoPublishedAt) {
+        this.latestVideoPublishedAt = latestVideoPublishedAt;
+    }
+
+    public String getFeedEtag() {
+        return feedEtag;
+    }
+
+    public void setFeedEtag(String feedEtag) {
+        this.feedEtag = feedEtag;
+    }
+
+    public String getFeedLastModified() {
+        return feedLastModified;
+    }
+
+    public void setFeedLastModified(String feedLastModified) {
+        this.feedLastModified = feedLastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
 }
@@ -4,7 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vtuber_songs")
+@Table(name = "vtuber_songs", indexes = {
+        // 메인 페이지 섹션별 top-N 조회: 성별 필터가 있는 경우와 전체 조회
+        @Index(name = "idx_songs_cls_gender_week", columnList = "classification, gender, views_increase_week"),
+        @Index(name = "idx_songs_cls_gender_day", columnList = "classification, gender, views_increase_day"),
+        @Index(name = "idx_songs_cls_gender_published", columnList = "classification, gender, published_at"),
+        @Index(name = "idx_songs_cls_week", columnList = "classification, views_increase_week"),
+        @Index(name = "idx_songs_cls_day", columnList = "classification, views_increase_day"),
+        @Index(name = "idx_songs_cls_published", columnList = "classification, published_at")
+})
 public class VtuberSongsEntity {
 
     @Id
@@ -13,6 +21,7 @@ public class VtuberSongsEntity {
 
     private String channelId;
 
+    @Column(unique = true) // VtuberSongsBulkRepository의 ON DUPLICATE KEY UPDATE가 의존하는 유일한 선언 (시작 시 확인)
     private String videoId;
 
     private String title;
@@ -42,6 +51,9 @@ public class VtuberSongsEntity {
 
     private String status;
 
+    @Column(length = 10)
+    private String gender; // vtubers.gender 비정규화 (성별 null은 'mixed', vtubers에 없는 채널은 null)
+
 
     // Getters and Setters
 
@@ -173,4 +185,12 @@ public class VtuberSongsEntity {
     public void setLastWeekViewCount(Long lastWeekViewCount) {
         this.lastWeekViewCount = lastWeekViewCount;
     }
-}
\ No newline at end of file
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+}
@@ -0,0 +1,57 @@
+package com.VSong.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * API 키별 일일 할당량 사용량. quota_date는 YouTube 할당량이 초기화되는 태평양 시간 기준 날짜이며,
+ * 키 원문 대신 SHA-256 해시를 저장합니다.
+ */
+@Entity
+@Table(name = "youtube_quota_usage",
+        uniqueConstraints = @UniqueConstraint(name = "uk_quota_key_date", columnNames = {"api_key_hash", "quota_date"}))
+public class YouTubeQuotaUsageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "api_key_hash", length = 64, nullable = false)
+    private String apiKeyHash;
+    @Column(name = "quota_date", nullable = false)
+    private LocalDate quotaDate;
+    @Column(name = "used_units", nullable = false)
+    private int usedUnits;
+
+    // Getter와 Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getApiKeyHash() {
+        return apiKeyHash;
+    }
+
+    public void setApiKeyHash(String apiKeyHash) {
+        this.apiKeyHash = apiKeyHash;
+    }
+
+    public LocalDate getQuotaDate() {
+        return quotaDate;
+    }
+
+    public void setQuotaDate(LocalDate quotaDate) {
+        this.quotaDate = quotaDate;
+    }
+
+    public int getUsedUnits() {
+        return usedUnits;
+    }
+
+    public void setUsedUnits(int usedUnits) {
+        this.usedUnits = usedUnits;
+    }
+}
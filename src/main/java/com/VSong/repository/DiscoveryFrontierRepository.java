@@ -0,0 +1,65 @@
+package com.VSong.repository;
+
+import com.VSong.entity.DiscoveryFrontierEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DiscoveryFrontierRepository extends JpaRepository<DiscoveryFrontierEntity, Long> {
+
+    // 방문한 적 없거나 staleBefore 이전에 방문한 노드 중 재시도 대기가 끝난 노드를 우선순위 높은 순, 오래된 순으로 조회
+    @Query("SELECT f FROM DiscoveryFrontierEntity f " +
+            "WHERE (f.lastVisitedAt IS NULL OR f.lastVisitedAt < :staleBefore) " +
+            "AND (f.nextAttemptAt IS NULL OR f.nextAttemptAt <= :now) " +
+            "ORDER BY f.priority DESC, f.lastVisitedAt ASC NULLS FIRST")
+    List<DiscoveryFrontierEntity> findExpandable(@Param("staleBefore") LocalDateTime staleBefore,
+                                                 @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 프런티어에 없는 버튜버 채널을 우선순위 0의 미방문 노드로 추가
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO discovery_frontier (channel_id, last_visited_at, accepted_neighbors, priority, failed_attempts) " +
+            "SELECT v.channel_id, NULL, 0, 0, 0 FROM vtubers v WHERE v.channel_id IS NOT NULL", nativeQuery = true)
+    int seedFromVtubers();
+
+    // 새로 저장된 버튜버를 노드로 추가. 이미 있으면 더 높은 우선순위만 반영
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO discovery_frontier (channel_id, last_visited_at, accepted_neighbors, priority, failed_attempts) " +
+            "VALUES (:channelId, NULL, 0, :priority, 0) " +
+            "ON DUPLICATE KEY UPDATE priority = GREATEST(priority, VALUES(priority))", nativeQuery = true)
+    void addNode(@Param("channelId") String channelId, @Param("priority") int priority);
+
+    // 페이지를 읽은 노드만 방문 처리하고 실패 기록을 지움
+    @Modifying
+    @Transactional
+    @Query("UPDATE DiscoveryFrontierEntity f SET f.lastVisitedAt = :visitedAt, f.failedAttempts = 0, f.nextAttemptAt = NULL " +
+            "WHERE f.channelId IN :channelIds")
+    int markVisited(@Param("channelIds") Collection<String> channelIds, @Param("visitedAt") LocalDateTime visitedAt);
+
+    // 페이지를 읽지 못한 노드는 baseMinutes * 2^(이전 실패 횟수)분(최대 maxMinutes) 뒤로 재시도를 미룸.
+    // MySQL은 SET 절을 왼쪽부터 적용하므로 next_attempt_at이 증가 전의 failed_attempts를 사용
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE discovery_frontier SET " +
+            "next_attempt_at = DATE_ADD(:failedAt, INTERVAL LEAST(:baseMinutes * POW(2, LEAST(failed_attempts, 20)), :maxMinutes) MINUTE), " +
+            "failed_attempts = failed_attempts + 1 " +
+            "WHERE channel_id IN (:channelIds)", nativeQuery = true)
+    int markFailed(@Param("channelIds") Collection<String> channelIds, @Param("failedAt") LocalDateTime failedAt,
+                   @Param("baseMinutes") long baseMinutes, @Param("maxMinutes") long maxMinutes);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DiscoveryFrontierEntity f SET f.acceptedNeighbors = f.acceptedNeighbors + :count, " +
+            "f.priority = f.priority + :count WHERE f.channelId = :channelId")
+    int addAcceptedNeighbors(@Param("channelId") String channelId, @Param("count") int count);
+}
@@ -1,6 +1,7 @@
 package com.VSong.repository;
 
 import com.VSong.entity.VtuberEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,6 +29,10 @@ public interface VtuberRepository extends JpaRepository<VtuberEntity, Long> {
 
     List<VtuberEntity> findByStatus(String status);
 
+    // 키셋 페이징: 전체 테이블을 한 번에 읽지 않고 id 순으로 청크 단위 조회
+    @Query("SELECT v FROM VtuberEntity v WHERE v.id > :lastId ORDER BY v.id")
+    List<VtuberEntity> findNextChunk(@Param("lastId") Long lastId, Pageable pageable);
+
     List<VtuberEntity> findByChannelImgIsNull();
 
     List<VtuberEntity> findAllByNameContaining(String name);
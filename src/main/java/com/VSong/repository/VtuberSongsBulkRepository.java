@@ -0,0 +1,149 @@
+package com.VSong.repository;
+
+import com.VSong.entity.VtuberSongsEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * vtuber_songs 대량 쓰기 전용 JDBC 저장소.
+ * IDENTITY 키 때문에 Hibernate가 insert를 배치로 묶지 못하므로, video_id 유니크 키 기반의
+ * 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 문으로 한 번에 여러 행을 기록합니다.
+ * 조회수 갱신도 묶음마다 UPDATE ... JOIN 문 하나로 보내므로 rewriteBatchedStatements 설정 없이 왕복이 줄어듭니다.
+ * 유니크 키는 VtuberSongsEntity.videoId의 매핑으로만 선언하며, 시작 시 없으면 실행을 중단합니다.
+ * 행 별칭(AS new)을 쓰므로 MySQL 8.0.19 이상이 필요합니다.
+ */
+@Repository
+public class VtuberSongsBulkRepository {
+
+    private static final String INSERT_COLUMNS = "INSERT INTO vtuber_songs (channel_id, video_id, title, description, " +
+            "published_at, added_time, vtuber_name, classification, view_count, last_week_view_count, " +
+            "views_increase_day, views_increase_week, update_day_time, update_week_time, status, gender) VALUES ";
+    // gender는 저장 시점의 vtubers.gender를 그대로 옮김 (성별이 null이면 'mixed', vtubers에 없는 채널이면 null)
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "(SELECT COALESCE(v.gender, 'mixed') FROM vtubers v WHERE v.channel_id = ? LIMIT 1))";
+    private static final int COLUMN_COUNT = 16;
+
+    // 신규 수집: 이미 존재하는 노래는 조회수 통계를 유지하고 메타데이터만 갱신 (VALUES()는 8.0.20부터 폐기 예정이라 행 별칭 사용)
+    private static final String ON_DUPLICATE_KEEP_STATISTICS = " AS new ON DUPLICATE KEY UPDATE " +
+            "title = new.title, vtuber_name = new.vtuber_name";
+
+    // 조회수 갱신: 삭제된 행을 되살리거나 auto_increment를 소모하지 않도록 id 기준 UPDATE만 사용.
+    // 묶음의 값을 UNION ALL 파생 테이블로 만들어 UPDATE ... JOIN 한 문장으로 보냄
+    private static final String UPDATE_STATISTICS_FIRST_ROW = "SELECT ? AS id, ? AS view_count, ? AS last_week_view_count, " +
+            "? AS views_increase_day, ? AS views_increase_week, ? AS update_day_time, ? AS update_week_time";
+    private static final String UPDATE_STATISTICS_ROW = " UNION ALL SELECT ?, ?, ?, ?, ?, ?, ?";
+    private static final String UPDATE_STATISTICS_SET = ") v ON s.id = v.id SET s.view_count = v.view_count, " +
+            "s.last_week_view_count = v.last_week_view_count, s.views_increase_day = v.views_increase_day, " +
+            "s.views_increase_week = v.views_increase_week, s.update_day_time = v.update_day_time, " +
+            "s.update_week_time = v.update_week_time";
+    private static final int STATISTICS_COLUMN_COUNT = 7;
+
+    // video_id 하나로만 이루어진 유니크 인덱스가 있는지 확인
+    private static final String FIND_VIDEO_ID_UNIQUE_INDEX = "SELECT COUNT(*) FROM (SELECT index_name " +
+            "FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'vtuber_songs' " +
+            "AND non_unique = 0 GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'video_id') t";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${song-write.batch-size:500}")
+    private int batchSize;
+
+    public VtuberSongsBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 컨텍스트 초기화(스키마 갱신 포함)가 끝나면 video_id 유니크 인덱스를 확인합니다. 없으면 ON DUPLICATE KEY UPDATE가 중복 행을 만들므로
+     * 쓰기를 시작하기 전에 실행을 중단합니다 (중복 video_id 행을 정리하면 스키마 갱신이 인덱스를 만듭니다).
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void verifyVideoIdUniqueIndex() {
+        Integer count = jdbcTemplate.queryForObject(FIND_VIDEO_ID_UNIQUE_INDEX, Integer.class);
+        if (count == null || count == 0) {
+            throw new IllegalStateException("vtuber_songs.video_id 유니크 인덱스가 없습니다. 중복 video_id 행을 정리한 뒤 재시작하세요.");
+        }
+    }
+
+    /**
+     * 새로 수집한 노래를 저장합니다. 동시에 수집된 중복 video_id는 별도 존재 확인 없이 갱신으로 처리됩니다.
+     * @return MySQL이 보고한 영향받은 행 수 (신규 1, 갱신 2, 변경 없음 0)
+     */
+    public int insertSongs(List<VtuberSongsEntity> songs) {
+        if (songs == null || songs.isEmpty()) {
+            return 0;
+        }
+        return insert(songs, ON_DUPLICATE_KEEP_STATISTICS);
+    }
+
+    /**
+     * 조회수 관련 컬럼을 id 기준으로 일괄 갱신합니다. 그사이 삭제된 행은 갱신되지 않습니다.
+     * @return 갱신된 행 수
+     */
+    public int updateStatistics(List<VtuberSongsEntity> songs) {
+        if (songs == null || songs.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int i = 0; i < songs.size(); i += batchSize) {
+            List<VtuberSongsEntity> chunk = songs.subList(i, Math.min(i + batchSize, songs.size()));
+            String sql = "UPDATE vtuber_songs s JOIN (" + UPDATE_STATISTICS_FIRST_ROW
+                    + UPDATE_STATISTICS_ROW.repeat(chunk.size() - 1) + UPDATE_STATISTICS_SET;
+
+            List<Object> args = new ArrayList<>(chunk.size() * STATISTICS_COLUMN_COUNT);
+            for (VtuberSongsEntity song : chunk) {
+                args.add(song.getId());
+                args.add(song.getViewCount());
+                args.add(song.getLastWeekViewCount());
+                args.add(song.getViewsIncreaseDay());
+                args.add(song.getViewsIncreaseWeek());
+                args.add(toTimestamp(song.getUpdateDayTime()));
+                args.add(toTimestamp(song.getUpdateWeekTime()));
+            }
+            updated += jdbcTemplate.update(sql, args.toArray());
+        }
+        return updated;
+    }
+
+    private int insert(List<VtuberSongsEntity> songs, String onDuplicateClause) {
+        int affected = 0;
+        for (int i = 0; i < songs.size(); i += batchSize) {
+            List<VtuberSongsEntity> chunk = songs.subList(i, Math.min(i + batchSize, songs.size()));
+            String sql = INSERT_COLUMNS + String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDER)) + onDuplicateClause;
+
+            List<Object> args = new ArrayList<>(chunk.size() * COLUMN_COUNT);
+            for (VtuberSongsEntity song : chunk) {
+                args.add(song.getChannelId());
+                args.add(song.getVideoId());
+                args.add(song.getTitle());
+                args.add(song.getDescription());
+                args.add(toTimestamp(song.getPublishedAt()));
+                args.add(toTimestamp(song.getAddedTime()));
+                args.add(song.getVtuberName());
+                args.add(song.getClassification());
+                args.add(song.getViewCount());
+                args.add(song.getLastWeekViewCount());
+                args.add(song.getViewsIncreaseDay());
+                args.add(song.getViewsIncreaseWeek());
+                args.add(toTimestamp(song.getUpdateDayTime()));
+                args.add(toTimestamp(song.getUpdateWeekTime()));
+                args.add(song.getStatus());
+                args.add(song.getChannelId());
+            }
+            affected += jdbcTemplate.update(sql, args.toArray());
+        }
+        return affected;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.VSong.repository;
 
 import com.VSong.entity.VtuberSongsEntity;
 
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,22 +19,53 @@ public interface VtuberSongsRepository extends JpaRepository<VtuberSongsEntity,
     Optional<VtuberSongsEntity> findByVideoId(String videoId);
     boolean existsByVideoId(String videoId);
 
+    @Query("SELECT v.videoId FROM VtuberSongsEntity v WHERE v.videoId IN :videoIds")
+    List<String> findExistingVideoIds(@Param("videoIds") Collection<String> videoIds);
+
     List<VtuberSongsEntity> findByStatus(String status);
 
-    @Query(value = "SELECT * FROM vtuber_songs WHERE classification = :classification ORDER BY RAND()", nativeQuery = true)
-    List<VtuberSongsEntity> findRandomSongsByClassification(@Param("classification") String classification, Pageable pageable);
+    // 키셋 페이징: 전체 테이블을 한 번에 읽지 않고 id 순으로 청크 단위 조회
+    @Query("SELECT v FROM VtuberSongsEntity v WHERE v.id > :lastId ORDER BY v.id")
+    List<VtuberSongsEntity> findNextChunk(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT DISTINCT v.channelId FROM VtuberSongsEntity v WHERE v.channelId IN :channelIds")
+    List<String> findChannelIdsHavingSongs(@Param("channelIds") Collection<String> channelIds);
+
+    // 랜덤 샘플러용 ID 목록: (classification, gender) 인덱스만 읽음. 셔플 페이징 위치가 갱신 후에도 유지되도록 id 순 정렬
+    // 전체 조회도 vtubers에 있는 채널의 노래(gender가 null이 아닌 행)만 대상으로 함
+    @Query("SELECT v.id FROM VtuberSongsEntity v WHERE v.classification = :classification AND v.gender IS NOT NULL ORDER BY v.id")
+    List<Long> findIdsByClassification(@Param("classification") String classification);
+
+    @Query("SELECT v.id FROM VtuberSongsEntity v WHERE v.classification = :classification AND v.gender = :gender ORDER BY v.id")
+    List<Long> findIdsByClassificationAndGender(@Param("classification") String classification, @Param("gender") String gender);
+
+    // 메인 페이지 섹션: (classification, gender, 정렬 컬럼) 인덱스를 타는 top-N 조회.
+    // 전체 조회의 GenderIsNotNull은 vtubers에서 빠진 채널의 노래를 제외 (기존 channel_id IN 범위와 동일)
+    List<VtuberSongsEntity> findTop10ByClassificationAndGenderIsNotNullOrderByViewsIncreaseWeekDesc(String classification);
 
-    @Query(value = "SELECT * FROM vtuber_songs WHERE classification = :classification AND channel_id IN (:channelIds) ORDER BY RAND()", nativeQuery = true)
-    List<VtuberSongsEntity> findRandomSongsByChannelIdsAndClassification(@Param("channelIds") List<String> channelIds, @Param("classification") String classification, Pageable pageable);
+    List<VtuberSongsEntity> findTop10ByClassificationAndGenderOrderByViewsIncreaseWeekDesc(String classification, String gender);
 
-    @Query(value = "SELECT * FROM vtuber_songs WHERE classification = 'videos' AND channel_id IN (:channelIds) ORDER BY views_increase_day DESC LIMIT 10", nativeQuery = true)
-    List<VtuberSongsEntity> findTop10ByViewsIncreaseDayDescAndChannelIds(@Param("channelIds") List<String> channelIds);
+    List<VtuberSongsEntity> findTop10ByClassificationAndGenderIsNotNullOrderByViewsIncreaseDayDesc(String classification);
 
-    @Query(value = "SELECT * FROM vtuber_songs WHERE classification = :classification AND channel_id IN (:channelIds) ORDER BY views_increase_week DESC LIMIT 10", nativeQuery = true)
-    List<VtuberSongsEntity> findTop10ByViewsIncreaseWeekDescAndChannelIdsAndClassification(@Param("channelIds") List<String> channelIds, @Param("classification") String classification);
+    List<VtuberSongsEntity> findTop10ByClassificationAndGenderOrderByViewsIncreaseDayDesc(String classification, String gender);
 
-    @Query(value = "SELECT * FROM vtuber_songs WHERE classification = :classification AND channel_id IN (:channelIds) ORDER BY published_at DESC LIMIT 9", nativeQuery = true)
-    List<VtuberSongsEntity> findTop9ByPublishedAtDescAndChannelIdsAndClassification(@Param("channelIds") List<String> channelIds, @Param("classification") String classification);
+    List<VtuberSongsEntity> findTop9ByClassificationAndGenderIsNotNullOrderByPublishedAtDesc(String classification);
+
+    List<VtuberSongsEntity> findTop9ByClassificationAndGenderOrderByPublishedAtDesc(String classification, String gender);
+
+    // 버튜버 성별 변경 시 해당 채널 노래의 비정규화 컬럼 갱신
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE vtuber_songs SET gender = :gender WHERE channel_id = :channelId", nativeQuery = true)
+    int updateGenderByChannelId(@Param("channelId") String channelId, @Param("gender") String gender);
+
+    // DB에서 직접 바뀐 성별 등 vtubers와 어긋난 행만 맞춤. vtubers에 없는 채널의 노래는 null로 두어 모든 섹션에서 제외
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE vtuber_songs s LEFT JOIN vtubers v ON v.channel_id = s.channel_id " +
+            "SET s.gender = IF(v.channel_id IS NULL, NULL, COALESCE(v.gender, 'mixed')) " +
+            "WHERE NOT (s.gender <=> IF(v.channel_id IS NULL, NULL, COALESCE(v.gender, 'mixed')))", nativeQuery = true)
+    int reconcileGender();
 
     // LIKE 절 수정: CONCAT 함수 사용
     @Query(value = "SELECT * FROM vtuber_songs WHERE title LIKE CONCAT('%', :title, '%') AND classification = :classification ORDER BY view_count DESC", nativeQuery = true)
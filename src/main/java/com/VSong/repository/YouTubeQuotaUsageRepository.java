@@ -0,0 +1,32 @@
+package com.VSong.repository;
+
+import com.VSong.entity.YouTubeQuotaUsageEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface YouTubeQuotaUsageRepository extends JpaRepository<YouTubeQuotaUsageEntity, Long> {
+
+    List<YouTubeQuotaUsageEntity> findByQuotaDate(LocalDate quotaDate);
+
+    // 행 조회 없이 한 문장으로 누적 (동시 호출에도 원자적)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO youtube_quota_usage (api_key_hash, quota_date, used_units) VALUES (:apiKeyHash, :quotaDate, :units) " +
+            "ON DUPLICATE KEY UPDATE used_units = used_units + VALUES(used_units)", nativeQuery = true)
+    void addUsage(@Param("apiKeyHash") String apiKeyHash, @Param("quotaDate") LocalDate quotaDate, @Param("units") int units);
+
+    // quotaExceeded를 받은 키는 남은 하루 동안 쓰지 않도록 사용량을 한도까지 끌어올림
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO youtube_quota_usage (api_key_hash, quota_date, used_units) VALUES (:apiKeyHash, :quotaDate, :units) " +
+            "ON DUPLICATE KEY UPDATE used_units = GREATEST(used_units, VALUES(used_units))", nativeQuery = true)
+    void raiseUsageTo(@Param("apiKeyHash") String apiKeyHash, @Param("quotaDate") LocalDate quotaDate, @Param("units") int units);
+}
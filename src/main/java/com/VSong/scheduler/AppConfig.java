@@ -1,10 +1,15 @@
 package com.VSong.scheduler;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class AppConfig {
@@ -13,4 +18,29 @@ public class AppConfig {
     public ThreadPoolExecutor vtuberSyncExecutor() {
         return (ThreadPoolExecutor) Executors.newFixedThreadPool(2);
     }
+
+    // 메인 페이지 섹션 쿼리를 동시에 실행하는 풀. 스레드 수는 DB 커넥션 풀보다 작게 유지하고, 큐가 차면 호출 스레드에서 실행
+    @Bean(name = "mainPageExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor mainPageExecutor(@Value("${main-page.section-workers:7}") int workers,
+                                               @Value("${main-page.section-queue-size:100}") int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "main-page-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // 관리 작업 뒤 메인 페이지 읽기 모델 갱신 전용 스레드. 섹션 쿼리 풀과 분리해 갱신이 쿼리 작업자를 붙잡지 않도록 함
+    @Bean(name = "mainPageRefreshExecutor", destroyMethod = "shutdown")
+    public ExecutorService mainPageRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "main-page-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
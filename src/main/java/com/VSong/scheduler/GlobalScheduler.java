@@ -3,6 +3,9 @@ package com.VSong.scheduler;
 import com.VSong.service.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -23,14 +26,18 @@ public class GlobalScheduler {
     private final ApiChannelIdService apiChannelIdService;
     private final ThreadPoolExecutor vtuberSyncExecutor;
     private final RelatedChannelService relatedChannelService;
+    private final VtuberService vtuberService;
+    private final MainPageSnapshotService mainPageSnapshotService;
 
     public GlobalScheduler(FirstUploadService firstUploadService,
                            UpdateVtuberSongsService updateVtuberSongsService,
                            UploadVtuberService uploadVtuberService,
                            UpdateVtuberService updateVtuberService,
                            ApiChannelIdService apiChannelIdService,
-                           ThreadPoolExecutor vtuberSyncExecutor,
-                           RelatedChannelService relatedChannelService) {
+                           @Qualifier("vtuberSyncExecutor") ThreadPoolExecutor vtuberSyncExecutor,
+                           RelatedChannelService relatedChannelService,
+                           VtuberService vtuberService,
+                           MainPageSnapshotService mainPageSnapshotService) {
         this.firstUploadService = firstUploadService;
         this.updateVtuberSongsService = updateVtuberSongsService;
         this.uploadVtuberService = uploadVtuberService;
@@ -38,6 +45,8 @@ public class GlobalScheduler {
         this.apiChannelIdService = apiChannelIdService;
         this.vtuberSyncExecutor = vtuberSyncExecutor;
         this.relatedChannelService = relatedChannelService;
+        this.vtuberService = vtuberService;
+        this.mainPageSnapshotService = mainPageSnapshotService;
     }
 
         // FirstUploadService - 최초 1회만 실행 후 off
@@ -59,6 +68,7 @@ public class GlobalScheduler {
     public void scheduleFetchVtuberSongs() {
         logger.info("Executing scheduled task: fetchVtuberSongs");
         updateVtuberSongsService.fetchVtuberSongs();
+        refreshSongReadModels();
     }
 
     // UpdateVtuberSongsService - 최신 노래를 existing으로 상태 변경
@@ -66,6 +76,7 @@ public class GlobalScheduler {
     public void scheduleUpdateSongStatusToExisting() {
         logger.info("Executing scheduled task: updateSongStatusToExisting");
         updateVtuberSongsService.updateSongStatusToExisting();
+        refreshSongReadModels();
     }
 
     // UpdateVtuberSongsService - 노래 조회수 관리
@@ -73,6 +84,7 @@ public class GlobalScheduler {
     public void scheduleUpdateViewCounts() {
         logger.info("Executing scheduled task: updateViewCounts");
         updateVtuberSongsService.updateViewCounts();
+        refreshSongReadModels();
     }
 
     // UploadVtuberService - 버튜버 신규 채널 업로드
@@ -87,5 +99,20 @@ public class GlobalScheduler {
     public void scheduleSyncVtuberData() {
         logger.info("Executing scheduled task: syncVtuberData");
         updateVtuberService.syncVtuberData(vtuberSyncExecutor);
+        refreshSongReadModels();
+    }
+
+    // VtuberService - vtuber_songs 비정규화 성별 동기화 (시작 시 기존 데이터 채우기 포함)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 4 * * ?", zone = "Asia/Seoul")
+    public void scheduleReconcileSongGenders() {
+        logger.info("Executing scheduled task: reconcileSongGenders");
+        vtuberService.reconcileSongGenders();
+        refreshSongReadModels();
+    }
+
+    // 노래 데이터가 바뀐 뒤 랜덤 샘플러 ID와 메인 페이지 스냅샷 갱신
+    private void refreshSongReadModels() {
+        mainPageSnapshotService.refreshAll();
     }
 }
@@ -0,0 +1,90 @@
+package com.VSong.service;
+
+import com.google.common.util.concurrent.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 모든 YouTube Data API 호출이 공유하는 AIMD 속도 제한기.
+ * 호출이 성공하는 동안 초당 허용량을 조금씩 늘리고, 속도 제한(403 rateLimitExceeded, 429)이나 5xx 응답을 받으면
+ * 허용량을 배수로 줄인 뒤 지터를 섞은 지수 백오프 시간을 제공합니다. 현재 허용량은 youtube.api.rate 게이지로 노출됩니다.
+ */
+@Component
+public class AdaptiveRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private final RateLimiter rateLimiter;
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double decreaseFactor;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    private volatile double currentRate;
+    private long lastDecreaseNanos;
+
+    public AdaptiveRateLimiter(MeterRegistry meterRegistry,
+                               @Value("${youtube.rate.initial:5.0}") double initialRate,
+                               @Value("${youtube.rate.min:1.0}") double minRate,
+                               @Value("${youtube.rate.max:50.0}") double maxRate,
+                               @Value("${youtube.rate.increase-step:0.5}") double increaseStep,
+                               @Value("${youtube.rate.decrease-factor:0.5}") double decreaseFactor,
+                               @Value("${youtube.rate.backoff-base-ms:1000}") long backoffBaseMillis,
+                               @Value("${youtube.rate.backoff-max-ms:60000}") long backoffMaxMillis) {
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.decreaseFactor = decreaseFactor;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.currentRate = Math.max(minRate, Math.min(maxRate, initialRate));
+        this.rateLimiter = RateLimiter.create(currentRate);
+        meterRegistry.gauge("youtube.api.rate", this, AdaptiveRateLimiter::getRate);
+    }
+
+    public void acquire() {
+        rateLimiter.acquire();
+    }
+
+    // 성공 1건마다 step / rate 만큼 늘려 대략 초당 step씩 증가
+    public synchronized void onSuccess() {
+        if (currentRate >= maxRate) {
+            return;
+        }
+        updateRate(Math.min(maxRate, currentRate + increaseStep / currentRate));
+    }
+
+    /**
+     * 속도 제한 또는 서버 오류 응답을 기록하고 다음 재시도 전에 기다릴 시간을 돌려줍니다.
+     * 동시에 실패한 호출들이 허용량을 연달아 깎지 않도록 감소는 현재 간격(1/rate)당 한 번만 적용합니다.
+     */
+    public long onThrottled(int retryCount) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= (long) (1_000_000_000L / currentRate)) {
+                lastDecreaseNanos = now;
+                double reduced = Math.max(minRate, currentRate * decreaseFactor);
+                logger.warn("YouTube API 속도 제한 감지 - 초당 허용량 {} -> {}", String.format("%.2f", currentRate), String.format("%.2f", reduced));
+                updateRate(reduced);
+            }
+        }
+        long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(retryCount, 16));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    public double getRate() {
+        return currentRate;
+    }
+
+    private void updateRate(double rate) {
+        currentRate = rate;
+        rateLimiter.setRate(rate);
+    }
+}
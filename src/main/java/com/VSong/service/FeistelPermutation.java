@@ -0,0 +1,55 @@
+package com.VSong.service;
+
+/**
+ * [0, 2^bits) 범위의 seed별 의사 난수 순열. 균형 Feistel 네트워크라 항상 전단사이며,
+ * 순열 전체를 메모리에 만들지 않고 위치 하나의 값을 O(1)에 계산합니다.
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final int halfBits;
+    private final long halfMask;
+    private final long seed;
+
+    /**
+     * bits는 짝수로 올림해 두 반쪽의 크기를 맞춥니다. 실제 영역 크기는 getDomainSize()로 확인합니다.
+     */
+    public FeistelPermutation(int bits, long seed) {
+        int evenBits = Math.max(2, bits + (bits & 1));
+        if (evenBits > 62) {
+            throw new IllegalArgumentException("Permutation domain too large: " + bits + " bits");
+        }
+        this.halfBits = evenBits / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.seed = seed;
+    }
+
+    // size 이상인 가장 작은 2의 거듭제곱 지수
+    public static int bitsFor(long size) {
+        return size <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(size - 1);
+    }
+
+    public long getDomainSize() {
+        return 1L << (halfBits * 2);
+    }
+
+    public long apply(long index) {
+        long left = (index >>> halfBits) & halfMask;
+        long right = index & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right, round) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // SplitMix64 마무리 함수로 seed와 라운드를 섞은 라운드 함수
+    private long mix(long value, int round) {
+        long z = value + seed + (round + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
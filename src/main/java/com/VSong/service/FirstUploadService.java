@@ -3,14 +3,14 @@ package com.VSong.service;
 import com.VSong.entity.VtuberEntity;
 import com.VSong.entity.VtuberSongsEntity;
 import com.VSong.repository.VtuberRepository;
+import com.VSong.repository.VtuberSongsBulkRepository;
 import com.VSong.repository.VtuberSongsRepository;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
-import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.*;
-import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -19,52 +19,57 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class FirstUploadService {
 
-    private final YouTube youTube;
     private final VtuberRepository vtuberRepository;
     private final VtuberSongsRepository vtuberSongsRepository;
+    private final VtuberSongsBulkRepository vtuberSongsBulkRepository;
     private final VtuberValidationService validationService; // 검증 서비스 주입
-    private final List<String> apiKeys;
-    private final List<AtomicInteger> apiKeyUsage;
-    private final List<Boolean> keyAvailable;
-    private int currentKeyIndex = 0;
+    private final YouTubeBatchLoader youTubeBatchLoader;
+    private final YouTubeApiService youTubeApiService;
+    private final UploadsPlaylistCrawler uploadsPlaylistCrawler;
 
     private static final Logger logger = LoggerFactory.getLogger(FirstUploadService.class);
 
     @Value("${first-upload.enabled:false}")
     private boolean firstUploadEnabled;
+    // 첫 업로드 작업이 하루(태평양 시간 기준)에 쓸 수 있는 최대 할당량
     @Value("${first-upload.daily-limit:8000}")
     private int DAILY_QUOTA_LIMIT;
+    // 다른 일일 작업(조회수 갱신, 신규 수집 등)을 위해 모든 키에 걸쳐 남겨 둘 할당량
+    @Value("${first-upload.quota-reserve:2000}")
+    private int QUOTA_RESERVE;
     @Value("${first-upload.batch-size:50}")
     private int VTUBERS_PER_DAY;
 
-    private static final RateLimiter rateLimiter = RateLimiter.create(5.0);
-    private final AtomicInteger dailyApiUsage = new AtomicInteger(0);
+    private static final int SCAN_CHUNK_SIZE = 500;
+    private static final String QUOTA_JOB = "first-upload";
+
+    // 작업 사용량에 아직 반영하지 않은 구간이 시작된 시점의 전체 사용량
+    private int usageCheckpoint;
 
     public FirstUploadService(
-            YouTube youTube,
             VtuberRepository vtuberRepository,
             VtuberSongsRepository vtuberSongsRepository,
+            VtuberSongsBulkRepository vtuberSongsBulkRepository,
             VtuberValidationService validationService, // 생성자에 추가
-            @Value("${youtube.api.keys}") List<String> apiKeys) {
-        this.youTube = youTube;
+            YouTubeBatchLoader youTubeBatchLoader,
+            YouTubeApiService youTubeApiService,
+            UploadsPlaylistCrawler uploadsPlaylistCrawler) {
         this.vtuberRepository = vtuberRepository;
         this.vtuberSongsRepository = vtuberSongsRepository;
+        this.vtuberSongsBulkRepository = vtuberSongsBulkRepository;
         this.validationService = validationService; // 초기화
-        this.apiKeys = new ArrayList<>(apiKeys);
-        this.apiKeyUsage = new ArrayList<>();
-        this.keyAvailable = new ArrayList<>();
-        for (int i = 0; i < apiKeys.size(); i++) {
-            this.apiKeyUsage.add(new AtomicInteger(0));
-            this.keyAvailable.add(true);
-        }
+        this.youTubeBatchLoader = youTubeBatchLoader;
+        this.youTubeApiService = youTubeApiService;
+        this.uploadsPlaylistCrawler = uploadsPlaylistCrawler;
     }
 
     public void dailyFirstUpload() {
@@ -73,20 +78,20 @@ public class FirstUploadService {
             return;
         }
         logger.info("=== 첫 업로드 작업 시작 ===");
-        resetDailyUsage();
+        usageCheckpoint = youTubeApiService.getTotalUsedUnits();
+        int jobUnitsAtStart = youTubeApiService.getJobUsedUnits(QUOTA_JOB);
 
-        List<VtuberEntity> unprocessedVtubers = getUnprocessedVtubers();
-        if (unprocessedVtubers.isEmpty()) {
+        List<VtuberEntity> todayVtubers = getUnprocessedVtubers(VTUBERS_PER_DAY);
+        if (todayVtubers.isEmpty()) {
             logger.info("처리할 VTuber가 없습니다. 첫 업로드 작업 완료.");
             return;
         }
 
-        List<VtuberEntity> todayVtubers = unprocessedVtubers.stream().limit(VTUBERS_PER_DAY).collect(Collectors.toList());
         logger.info("오늘 처리할 VTuber 수: {}", todayVtubers.size());
 
         int processedCount = 0;
         for (VtuberEntity vtuber : todayVtubers) {
-            if (dailyApiUsage.get() >= DAILY_QUOTA_LIMIT) {
+            if (!hasQuotaToSpend()) {
                 logger.warn("일일 API 할당량 한계에 도달했습니다. 작업을 중단합니다.");
                 break;
             }
@@ -98,41 +103,75 @@ public class FirstUploadService {
                     processedCount++;
                     logger.info("VTuber 처리 완료: {} ({}/{})", vtuber.getName(), processedCount, todayVtubers.size());
                 }
-                Thread.sleep(1000);
             } catch (Exception e) {
                 logger.error("VTuber 처리 중 오류 발생: {} - {}", vtuber.getName(), e.getMessage());
             }
         }
-        logger.info("=== 첫 업로드 작업 완료 - 처리된 VTuber 수: {}, 사용된 API 할당량: {} ===", processedCount, dailyApiUsage.get());
+        chargeJobUsage();
+        logger.info("=== 첫 업로드 작업 완료 - 처리된 VTuber 수: {}, 사용된 API 할당량: {} ===", processedCount,
+                Math.max(0, youTubeApiService.getJobUsedUnits(QUOTA_JOB) - jobUnitsAtStart));
     }
 
-    private boolean processVideo(Video video, VtuberEntity vtuber) {
+    private VtuberSongsEntity processVideo(Video video, VtuberEntity vtuber) {
         // 통합된 검증 로직 사용
         if (!validationService.isSongRelated(video)) {
-            return false;
-        }
-        if (validationService.isSongAlreadyExists(video.getId())) {
-            return false;
+            return null;
         }
 
         String classification = validationService.classifyVideo(video);
         if ("ignore".equals(classification)) {
-            return false;
+            return null;
         }
 
-        saveNewSong(video, vtuber, classification);
-        return true;
+        return toSongEntity(video, vtuber, classification);
     }
 
     // --- Other methods remain largely the same ---
 
-    private List<VtuberEntity> getUnprocessedVtubers() {
-        return vtuberRepository.findAll().stream()
+    /**
+     * 미처리 VTuber를 id 순 키셋 페이징으로 최대 limit개까지 찾습니다.
+     * 청크마다 노래 보유 여부를 한 번의 쿼리로 확인하므로 전체 테이블을 메모리에 올리지 않습니다.
+     */
+    private List<VtuberEntity> getUnprocessedVtubers(int limit) {
+        List<VtuberEntity> result = new ArrayList<>();
+        long lastId = 0L;
+        List<VtuberEntity> chunk;
+        do {
+            chunk = vtuberRepository.findNextChunk(lastId, PageRequest.of(0, SCAN_CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            for (VtuberEntity vtuber : filterUnprocessed(chunk)) {
+                if (result.size() >= limit) return result;
+                result.add(vtuber);
+            }
+        } while (chunk.size() == SCAN_CHUNK_SIZE);
+        return result;
+    }
+
+    private int countUnprocessedVtubers() {
+        int count = 0;
+        long lastId = 0L;
+        List<VtuberEntity> chunk;
+        do {
+            chunk = vtuberRepository.findNextChunk(lastId, PageRequest.of(0, SCAN_CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+            lastId = chunk.get(chunk.size() - 1).getId();
+            count += filterUnprocessed(chunk).size();
+        } while (chunk.size() == SCAN_CHUNK_SIZE);
+        return count;
+    }
+
+    private List<VtuberEntity> filterUnprocessed(List<VtuberEntity> vtubers) {
+        List<String> channelIds = vtubers.stream().map(VtuberEntity::getChannelId).collect(Collectors.toList());
+        Set<String> channelsWithSongs = new HashSet<>(vtuberSongsRepository.findChannelIdsHavingSongs(channelIds));
+        return vtubers.stream()
                 .filter(vtuber -> {
                     String status = vtuber.getStatus();
                     if ("processed".equals(status)) return false;
                     if ("processing".equals(status) || "error".equals(status)) return true;
-                    boolean hasNoSongs = vtuberSongsRepository.countByChannelId(vtuber.getChannelId()) == 0;
+                    if (vtuber.getLastProcessedPageToken() != null) return true; // 중단된 수집 재개
+                    boolean hasNoSongs = !channelsWithSongs.contains(vtuber.getChannelId());
                     return hasNoSongs && ("new".equals(status) || "existing".equals(status));
                 })
                 .collect(Collectors.toList());
@@ -153,72 +192,62 @@ public class FirstUploadService {
     }
 
     private String getUploadsPlaylistId(String channelId) throws IOException {
-        rateLimiter.acquire();
-        incrementApiUsage();
-        YouTube.Channels.List channelRequest = youTube.channels().list(List.of("contentDetails"));
-        channelRequest.setId(List.of(channelId));
-        channelRequest.setKey(getCurrentApiKey());
-        ChannelListResponse channelResult = channelRequest.execute();
-        List<Channel> channelsList = channelResult.getItems();
-        if (channelsList != null && !channelsList.isEmpty()) {
-            return channelsList.get(0).getContentDetails().getRelatedPlaylists().getUploads();
+        Channel channel = youTubeBatchLoader.getChannel(channelId);
+        if (channel != null && channel.getContentDetails() != null) {
+            return channel.getContentDetails().getRelatedPlaylists().getUploads();
         }
         return null;
     }
 
+    /**
+     * 업로드 재생목록을 최신순으로 페이지 단위 수집합니다. 재개와 워터마크 처리는 UploadsPlaylistCrawler가 담당합니다.
+     * @return 재생목록 끝(또는 워터마크)까지 수집을 마쳤고 저장된 노래가 있으면 true
+     */
     private boolean fetchSongsFromPlaylist(VtuberEntity vtuber, String uploadsPlaylistId) {
-        String pageToken = null;
-        int totalSongs = 0;
+        int[] totalSongs = {0};
         try {
-            do {
-                if (dailyApiUsage.get() >= DAILY_QUOTA_LIMIT) break;
-                rateLimiter.acquire();
-                incrementApiUsage();
-
-                YouTube.PlaylistItems.List playlistItemsRequest = youTube.playlistItems().list(List.of("contentDetails", "snippet"));
-                playlistItemsRequest.setPlaylistId(uploadsPlaylistId);
-                playlistItemsRequest.setMaxResults(50L);
-                playlistItemsRequest.setPageToken(pageToken);
-                playlistItemsRequest.setKey(getCurrentApiKey());
-
-                PlaylistItemListResponse playlistItemResult = playlistItemsRequest.execute();
-                List<PlaylistItem> playlistItems = playlistItemResult.getItems();
-                if (playlistItems == null || playlistItems.isEmpty()) break;
-
-                List<String> videoIds = playlistItems.stream().map(item -> item.getContentDetails().getVideoId()).collect(Collectors.toList());
-                totalSongs += fetchAndProcessVideos(videoIds, vtuber);
-
-                pageToken = playlistItemResult.getNextPageToken();
-            } while (pageToken != null);
-            return totalSongs > 0;
+            boolean completed = uploadsPlaylistCrawler.crawl(vtuber, uploadsPlaylistId, this::hasQuotaToSpend, videoIds -> {
+                int saved = fetchAndProcessVideos(videoIds, vtuber);
+                if (saved < 0) {
+                    return false;
+                }
+                totalSongs[0] += saved;
+                return true;
+            });
+            return completed && (totalSongs[0] > 0 || vtuberSongsRepository.countByChannelId(vtuber.getChannelId()) > 0);
         } catch (Exception e) {
             logger.error("Error fetching songs from playlist for {}: {}", vtuber.getName(), e.getMessage());
             return false;
         }
     }
 
+    // 저장한 노래 수, 동영상 상세 조회에 실패하면 -1
     private int fetchAndProcessVideos(List<String> videoIds, VtuberEntity vtuber) {
-        int songsFound = 0;
+        List<VtuberSongsEntity> newSongs = new ArrayList<>();
+        // 이미 저장된 동영상은 상세 조회 없이 제외
+        Set<String> existingVideoIds = validationService.findExistingVideoIds(videoIds);
+        List<String> unknownVideoIds = videoIds.stream()
+                .filter(videoId -> !existingVideoIds.contains(videoId))
+                .collect(Collectors.toList());
+        if (unknownVideoIds.isEmpty()) {
+            return 0;
+        }
         try {
-            rateLimiter.acquire();
-            incrementApiUsage();
-            YouTube.Videos.List videosRequest = youTube.videos().list(List.of("id", "snippet", "contentDetails", "statistics"));
-            videosRequest.setId(videoIds);
-            videosRequest.setKey(getCurrentApiKey());
-            VideoListResponse videoResponse = videosRequest.execute();
-            for (Video video : videoResponse.getItems()) {
-                if (processVideo(video, vtuber)) {
-                    songsFound++;
+            for (Video video : youTubeBatchLoader.getVideos(unknownVideoIds).values()) {
+                VtuberSongsEntity song = processVideo(video, vtuber);
+                if (song != null) {
+                    newSongs.add(song);
                 }
             }
+            vtuberSongsBulkRepository.insertSongs(newSongs);
         } catch (IOException e) {
             logger.error("비디오 정보 조회 실패: {} - {}", vtuber.getName(), e.getMessage());
-            switchApiKey();
+            return -1;
         }
-        return songsFound;
+        return newSongs.size();
     }
 
-    private void saveNewSong(Video video, VtuberEntity vtuber, String classification) {
+    private VtuberSongsEntity toSongEntity(Video video, VtuberEntity vtuber, String classification) {
         VtuberSongsEntity song = new VtuberSongsEntity();
         song.setChannelId(video.getSnippet().getChannelId());
         song.setVideoId(video.getId());
@@ -234,53 +263,36 @@ public class FirstUploadService {
         song.setLastWeekViewCount(0L);
         song.setStatus("existing");
         song.setClassification(classification);
-        vtuberSongsRepository.save(song);
-    }
-
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
+        return song;
     }
 
-    private void incrementApiUsage() {
-        apiKeyUsage.get(currentKeyIndex).incrementAndGet();
-        dailyApiUsage.incrementAndGet();
-        if (apiKeyUsage.get(currentKeyIndex).get() >= 9000) {
-            switchApiKey();
-        }
+    // 오늘(태평양 시간 기준) 이 작업의 상한에 여유가 있고, 다른 작업 몫을 제외하고도 할당량이 남아 있는지 장부 기준으로 확인
+    private boolean hasQuotaToSpend() {
+        chargeJobUsage();
+        return youTubeApiService.getJobUsedUnits(QUOTA_JOB) < DAILY_QUOTA_LIMIT
+                && youTubeApiService.getRemainingUnits() > QUOTA_RESERVE;
     }
 
-    private void switchApiKey() {
-        keyAvailable.set(currentKeyIndex, false);
-        int initialKeyIndex = currentKeyIndex;
-        do {
-            currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-            if (keyAvailable.get(currentKeyIndex)) {
-                logger.info("API 키 전환: {}", getCurrentApiKey());
-                return;
-            }
-        } while (currentKeyIndex != initialKeyIndex);
-        throw new RuntimeException("모든 API 키의 할당량이 소진되었습니다.");
-    }
-
-    private void resetDailyUsage() {
-        dailyApiUsage.set(0);
-        for (int i = 0; i < apiKeyUsage.size(); i++) {
-            apiKeyUsage.get(i).set(0);
-            keyAvailable.set(i, true);
-        }
-        currentKeyIndex = 0;
-        logger.info("일일 API 사용량 리셋 완료");
+    // 호출은 공유 로더/크롤러를 거치므로 실행 중 늘어난 전체 사용량을 이 작업 몫으로 장부에 청구 (동시 작업분까지 보수적으로 포함)
+    private void chargeJobUsage() {
+        int total = youTubeApiService.getTotalUsedUnits();
+        // 태평양 시간 자정이 지나 전체 사용량이 초기화되었으면 새 값부터 다시 집계
+        youTubeApiService.recordJobUsage(QUOTA_JOB, Math.max(0, total - usageCheckpoint));
+        usageCheckpoint = total;
     }
 
     public Map<String, Object> getProgress() {
-        List<VtuberEntity> allVtubers = vtuberRepository.findAll();
-        List<VtuberEntity> unprocessedVtubers = getUnprocessedVtubers();
+        long totalVtubers = vtuberRepository.count();
+        int remainingVtubers = countUnprocessedVtubers();
         Map<String, Object> progress = new HashMap<>();
-        progress.put("totalVtubers", allVtubers.size());
-        progress.put("processedVtubers", allVtubers.size() - unprocessedVtubers.size());
-        progress.put("remainingVtubers", unprocessedVtubers.size());
-        progress.put("dailyApiUsage", dailyApiUsage.get());
-        progress.put("dailyQuotaLimit", DAILY_QUOTA_LIMIT);
+        progress.put("totalVtubers", totalVtubers);
+        progress.put("processedVtubers", totalVtubers - remainingVtubers);
+        progress.put("remainingVtubers", remainingVtubers);
+        progress.put("dailyApiUsage", youTubeApiService.getTotalUsedUnits());
+        progress.put("remainingQuota", youTubeApiService.getRemainingUnits());
+        progress.put("jobApiUsage", youTubeApiService.getJobUsedUnits(QUOTA_JOB));
+        progress.put("dailyLimit", DAILY_QUOTA_LIMIT);
+        progress.put("quotaReserve", QUOTA_RESERVE);
         progress.put("vtubersPerDay", VTUBERS_PER_DAY);
         return progress;
     }
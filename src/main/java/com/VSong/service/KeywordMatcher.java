@@ -0,0 +1,213 @@
+package com.VSong.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 카테고리의 키워드 목록을 한 번 컴파일해 두는 Aho-Corasick 매처.
+ * 텍스트를 한 번 훑으면서 모든 카테고리의 일치 결과를 모으므로, 키워드마다 contains를 반복하는 것보다 빠릅니다.
+ * 대소문자 처리는 하지 않으므로 호출자가 키워드와 텍스트를 같은 규칙으로 맞춰야 합니다.
+ */
+public final class KeywordMatcher<C extends Enum<C>> {
+
+    private final int categoryCount;
+    private final String[] keywords;
+    private final int[] keywordCategory;
+    private final int[] keywordOrder; // 카테고리 목록 안에서의 순서 (첫 일치 키워드 판단용)
+
+    // 노드별 전이: 정렬된 문자 배열과 대상 노드
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[][] outputs; // 노드에서 끝나는 키워드 (실패 링크의 출력 포함)
+
+    private KeywordMatcher(int categoryCount, List<String> keywords, List<Integer> categories, List<Integer> orders) {
+        this.categoryCount = categoryCount;
+        this.keywords = keywords.toArray(new String[0]);
+        this.keywordCategory = categories.stream().mapToInt(Integer::intValue).toArray();
+        this.keywordOrder = orders.stream().mapToInt(Integer::intValue).toArray();
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        trieOutputs.add(new ArrayList<>());
+        for (int k = 0; k < this.keywords.length; k++) {
+            int node = 0;
+            for (char c : this.keywords[k].toCharArray()) {
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            trieOutputs.get(node).add(k);
+        }
+
+        int nodeCount = trie.size();
+        this.edgeChars = new char[nodeCount][];
+        this.edgeTargets = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            Map<Character, Integer> edges = trie.get(node);
+            char[] chars = new char[edges.size()];
+            int i = 0;
+            for (char c : edges.keySet()) {
+                chars[i++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (i = 0; i < chars.length; i++) {
+                targets[i] = edges.get(chars[i]);
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+        }
+
+        // BFS로 실패 링크를 만들고 출력 집합을 병합
+        this.failure = new int[nodeCount];
+        this.outputs = new int[nodeCount][];
+        outputs[0] = toArray(trieOutputs.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            outputs[target] = toArray(trieOutputs.get(target));
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int fallback = failure[node];
+                while (fallback != 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int candidate = transition(fallback, c);
+                failure[child] = candidate >= 0 && candidate != child ? candidate : 0;
+                outputs[child] = merge(trieOutputs.get(child), outputs[failure[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    public static <C extends Enum<C>> Builder<C> builder(Class<C> categoryType) {
+        return new Builder<>(categoryType);
+    }
+
+    /**
+     * 텍스트를 한 번 훑어 카테고리별 일치 결과를 돌려줍니다. null은 빈 문자열로 취급합니다.
+     */
+    public Result<C> scan(String text) {
+        Result<C> result = new Result<>(this);
+        if (text == null) {
+            return result;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            for (int keyword : outputs[state]) {
+                result.record(keyword);
+            }
+        }
+        return result;
+    }
+
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeChars[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        int[] merged = Arrays.copyOf(toArray(own), own.size() + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+        return merged;
+    }
+
+    public static final class Builder<C extends Enum<C>> {
+        private final Class<C> categoryType;
+        private final List<String> keywords = new ArrayList<>();
+        private final List<Integer> categories = new ArrayList<>();
+        private final List<Integer> orders = new ArrayList<>();
+
+        private Builder(Class<C> categoryType) {
+            this.categoryType = categoryType;
+        }
+
+        public Builder<C> add(C category, Collection<String> categoryKeywords) {
+            int order = 0;
+            for (String keyword : categoryKeywords) {
+                if (keyword != null && !keyword.isEmpty()) {
+                    keywords.add(keyword);
+                    categories.add(category.ordinal());
+                    orders.add(order);
+                }
+                order++;
+            }
+            return this;
+        }
+
+        public KeywordMatcher<C> build() {
+            return new KeywordMatcher<>(categoryType.getEnumConstants().length, keywords, categories, orders);
+        }
+    }
+
+    public static final class Result<C extends Enum<C>> {
+        private final KeywordMatcher<C> matcher;
+        private final int[] firstKeyword;   // 카테고리별로 목록 순서가 가장 앞선 일치 키워드, 없으면 -1
+        private final int[] distinctCount;  // 카테고리별로 일치한 서로 다른 키워드 수
+        private final boolean[] seen;
+
+        private Result(KeywordMatcher<C> matcher) {
+            this.matcher = matcher;
+            this.firstKeyword = new int[matcher.categoryCount];
+            this.distinctCount = new int[matcher.categoryCount];
+            this.seen = new boolean[matcher.keywords.length];
+            Arrays.fill(firstKeyword, -1);
+        }
+
+        private void record(int keyword) {
+            if (seen[keyword]) {
+                return;
+            }
+            seen[keyword] = true;
+            int category = matcher.keywordCategory[keyword];
+            distinctCount[category]++;
+            int current = firstKeyword[category];
+            if (current < 0 || matcher.keywordOrder[keyword] < matcher.keywordOrder[current]) {
+                firstKeyword[category] = keyword;
+            }
+        }
+
+        public boolean contains(C category) {
+            return firstKeyword[category.ordinal()] >= 0;
+        }
+
+        // 키워드 목록에서 가장 앞선 일치 키워드 (기존 stream().filter(contains).findFirst()와 같은 결과)
+        public String firstMatch(C category) {
+            int keyword = firstKeyword[category.ordinal()];
+            return keyword >= 0 ? matcher.keywords[keyword] : null;
+        }
+
+        public int count(C category) {
+            return distinctCount[category.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.VSong.service;
+
+import com.VSong.repository.ExceptVtuberRepository;
+import com.VSong.repository.VtuberRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB에 저장된 버튜버 채널과 제외 채널 ID를 메모리에 들고 있는 색인.
+ * 탐색 작업의 중복 확인을 DB 조회 없이 처리하며, 채널을 저장/삭제하는 쪽에서 addVtuber/removeVtuber로 갱신합니다.
+ * 제외 목록은 애플리케이션이 쓰지 않고 DB에서 직접 관리하므로, 주기적으로 두 테이블을 새로 읽어 집합을 통째로 교체합니다.
+ */
+@Component
+public class KnownChannelIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownChannelIndex.class);
+
+    private final VtuberRepository vtuberRepository;
+    private final ExceptVtuberRepository exceptVtuberRepository;
+
+    // 읽기는 잠금 없이 현재 참조를 사용하고, 교체와 add/remove는 this로 직렬화
+    private volatile Set<String> vtuberIds = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> excludedIds = ConcurrentHashMap.newKeySet();
+
+    // DB를 읽는 동안 들어온 변경. 새 집합에 다시 적용해 교체 시 유실되지 않도록 함
+    private final Set<String> addedDuringReload = new HashSet<>();
+    private final Set<String> removedDuringReload = new HashSet<>();
+    private boolean reloading = false;
+
+    public KnownChannelIndex(VtuberRepository vtuberRepository, ExceptVtuberRepository exceptVtuberRepository) {
+        this.vtuberRepository = vtuberRepository;
+        this.exceptVtuberRepository = exceptVtuberRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+        logger.info("채널 색인 로드 완료 - 버튜버 {}개, 제외 {}개", vtuberIds.size(), excludedIds.size());
+    }
+
+    // DB에서 지워진 ID도 반영되도록 새 집합을 만들어 교체
+    @Scheduled(fixedDelayString = "${known-channels.reload-interval-ms:21600000}",
+            initialDelayString = "${known-channels.reload-interval-ms:21600000}")
+    public void reload() {
+        synchronized (this) {
+            if (reloading) {
+                return;
+            }
+            reloading = true;
+            addedDuringReload.clear();
+            removedDuringReload.clear();
+        }
+        Set<String> freshVtuberIds = ConcurrentHashMap.newKeySet();
+        Set<String> freshExcludedIds = ConcurrentHashMap.newKeySet();
+        try {
+            freshVtuberIds.addAll(vtuberRepository.findAllChannelIds());
+            freshExcludedIds.addAll(exceptVtuberRepository.findAllChannelIds());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                reloading = false;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            freshVtuberIds.addAll(addedDuringReload);
+            freshVtuberIds.removeAll(removedDuringReload);
+            vtuberIds = freshVtuberIds;
+            excludedIds = freshExcludedIds;
+            reloading = false;
+        }
+        logger.debug("채널 색인 갱신 - 버튜버 {}개, 제외 {}개", freshVtuberIds.size(), freshExcludedIds.size());
+    }
+
+    public boolean isVtuber(String channelId) {
+        return vtuberIds.contains(channelId);
+    }
+
+    public boolean isExcluded(String channelId) {
+        return excludedIds.contains(channelId);
+    }
+
+    public boolean isKnown(String channelId) {
+        return vtuberIds.contains(channelId) || excludedIds.contains(channelId);
+    }
+
+    /**
+     * 버튜버 테이블과 제외 목록 어디에도 없는 ID만 입력 순서대로 중복 없이 돌려줍니다.
+     */
+    public List<String> filterUnknown(Collection<String> channelIds) {
+        List<String> unknown = new ArrayList<>();
+        for (String channelId : new LinkedHashSet<>(channelIds)) {
+            if (channelId != null && !isKnown(channelId)) {
+                unknown.add(channelId);
+            }
+        }
+        return unknown;
+    }
+
+    public synchronized void addVtuber(String channelId) {
+        if (channelId == null) {
+            return;
+        }
+        vtuberIds.add(channelId);
+        if (reloading) {
+            addedDuringReload.add(channelId);
+            removedDuringReload.remove(channelId);
+        }
+    }
+
+    public synchronized void removeVtuber(String channelId) {
+        if (channelId == null) {
+            return;
+        }
+        vtuberIds.remove(channelId);
+        if (reloading) {
+            removedDuringReload.add(channelId);
+            addedDuringReload.remove(channelId);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.VSong.service;
+
+import com.VSong.dto.MainPageResponse;
+import com.VSong.entity.VtuberSongsEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 메인 페이지 섹션을 성별(all/male/female/mixed)마다 미리 계산해 두는 읽기 모델.
+ * 노래 데이터는 스케줄러 작업이 끝날 때만 바뀌므로, 작업 후 rebuild()로 새 스냅샷을 만든 뒤 참조 하나를 교체합니다.
+ * 요청은 DB에 접근하지 않으며, 랜덤 섹션은 스냅샷에 담긴 후보 풀에서 요청마다 새로 뽑습니다.
+ * 첫 스냅샷이 게시되기 전에는 성별마다 한 번만 계산을 시작하고, 요청은 잠금 없이 그 결과를 기한까지만 기다립니다.
+ * 관리 작업(버튜버 삭제, 성별 변경) 뒤에는 requestRefresh()로 샘플러와 스냅샷을 전용 스레드에서 다시 만듭니다.
+ * 스냅샷을 계산할 때 7개 섹션 쿼리는 mainPageExecutor에서 동시에 실행합니다. main-page.parallel-sections=false면 순서대로 실행합니다.
+ * 섹션 기한(main-page.section-deadline-ms)은 요청 시점 계산에만 적용되고, rebuild()는 모든 조회를 기다립니다.
+ */
+@Service
+public class MainPageSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MainPageSnapshotService.class);
+    private static final List<String> GENDERS = List.of("all", "male", "female", "mixed");
+    private static final int RANDOM_SECTION_SIZE = 9;
+    private static final String[] SECTION_NAMES = {
+            "randomSongs", "top10WeeklySongs", "top10DailySongs", "top10RecentSongs",
+            "randomShorts", "top10WeeklyShorts", "top9RecentShorts"};
+
+    private final SongService songService;
+    private final SortSongsService sortSongsService;
+    private final RandomSongSampler randomSongSampler;
+    private final Executor mainPageExecutor;
+    private final Executor refreshExecutor;
+
+    @Value("${main-page.random-pool-size:300}")
+    private int randomPoolSize;
+    @Value("${main-page.parallel-sections:true}")
+    private boolean parallelSections;
+    @Value("${main-page.section-deadline-ms:2000}")
+    private long sectionDeadlineMs;
+
+    // 교체만 하고 내용은 바꾸지 않는 맵 (copy-on-write, 교체는 publishLock 안에서만)
+    private volatile Map<String, Snapshot> snapshots = Map.of();
+    private final Object publishLock = new Object();
+    // rebuild()끼리만 직렬화. 요청 경로는 이 잠금을 잡지 않음
+    private final Object rebuildLock = new Object();
+    // 아직 실행되지 않은 갱신 요청이 있으면 true. 연달아 들어온 요청을 한 번의 갱신으로 합침
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    // 스냅샷이 없는 성별에 대해 요청 경로에서 시작한 계산. 기한을 넘겨도 다음 요청이 같은 계산을 이어서 기다리고, 끝나면 스스로 빠짐
+    private final ConcurrentHashMap<String, RequestBuild> requestBuilds = new ConcurrentHashMap<>();
+
+    public MainPageSnapshotService(SongService songService, SortSongsService sortSongsService,
+                                   RandomSongSampler randomSongSampler,
+                                   @Qualifier("mainPageExecutor") Executor mainPageExecutor,
+                                   @Qualifier("mainPageRefreshExecutor") Executor refreshExecutor) {
+        this.songService = songService;
+        this.sortSongsService = sortSongsService;
+        this.randomSongSampler = randomSongSampler;
+        this.mainPageExecutor = mainPageExecutor;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public MainPageResponse getMainPage(String gender) {
+        String key = gender == null ? "all" : gender.toLowerCase();
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            if (!GENDERS.contains(key)) {
+                throw new IllegalArgumentException("Invalid gender parameter: " + gender);
+            }
+            snapshot = buildOnRequest(key);
+        }
+        return snapshot.toResponse();
+    }
+
+    // 시작 직후 첫 스냅샷이 게시되기 전: 성별마다 계산을 한 번만 시작하고, 요청은 어떤 잠금도 잡지 않고 기한까지만 기다림.
+    // 기한 안에 끝나지 않은 섹션은 이번 응답에서만 빈 목록으로 두고, 스냅샷은 모든 섹션이 끝났을 때만 게시함.
+    // 기한을 넘긴 조회는 취소해도 실행 중인 JDBC 쿼리가 멈추지 않으므로 그대로 두고, 다음 요청이 같은 계산을 기다림
+    private Snapshot buildOnRequest(String gender) {
+        RequestBuild build = requestBuilds.get(gender);
+        if (build == null) {
+            RequestBuild created = new RequestBuild();
+            build = requestBuilds.putIfAbsent(gender, created);
+            if (build == null) {
+                build = created;
+                startRequestBuild(gender, created);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionDeadlineMs);
+        List<List<VtuberSongsEntity>> sections = new ArrayList<>(build.sections.size());
+        for (int i = 0; i < build.sections.size(); i++) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                sections.add(build.sections.get(i).get(remaining, TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sections.add(List.of());
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("메인 페이지 섹션 조회 실패 - 성별: {}, 섹션: {} - {}",
+                        gender, SECTION_NAMES[i], e instanceof TimeoutException ? "기한 초과" : e.getCause().getMessage());
+                sections.add(List.of());
+            }
+        }
+        return new Snapshot(sections);
+    }
+
+    private void startRequestBuild(String gender, RequestBuild build) {
+        List<CompletableFuture<List<VtuberSongsEntity>>> started = startSections(sectionQueries(gender));
+        for (int i = 0; i < started.size(); i++) {
+            CompletableFuture<List<VtuberSongsEntity>> target = build.sections.get(i);
+            started.get(i).whenComplete((section, error) -> {
+                if (error == null) {
+                    target.complete(section);
+                } else {
+                    target.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.allOf(build.sections.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error == null) {
+                List<List<VtuberSongsEntity>> sections = new ArrayList<>(build.sections.size());
+                build.sections.forEach(section -> sections.add(section.join()));
+                // 그사이 rebuild()가 게시한 스냅샷이 있으면 그대로 둠
+                publish(Map.of(gender, new Snapshot(sections)), false);
+            }
+            // 끝나면(실패 포함) 빠져서 다음 요청이 새로 시작
+            requestBuilds.remove(gender, build);
+        });
+    }
+
+    private void publish(Map<String, Snapshot> built, boolean replace) {
+        synchronized (publishLock) {
+            Map<String, Snapshot> updated = new HashMap<>(snapshots);
+            built.forEach((gender, snapshot) -> {
+                if (replace) {
+                    updated.put(gender, snapshot);
+                } else {
+                    updated.putIfAbsent(gender, snapshot);
+                }
+            });
+            snapshots = Map.copyOf(updated);
+        }
+    }
+
+    /**
+     * 노래 데이터가 바뀐 뒤 랜덤 샘플러 ID와 메인 페이지 스냅샷을 순서대로 갱신합니다 (스냅샷이 새 ID로 랜덤 풀을 뽑도록).
+     */
+    public void refreshAll() {
+        randomSongSampler.refresh();
+        rebuild();
+    }
+
+    /**
+     * refreshAll()을 전용 갱신 스레드에서 실행하도록 예약합니다. 이미 대기 중인 갱신이 있으면 그 갱신에 합쳐집니다.
+     * 섹션 쿼리 풀(mainPageExecutor)에서 실행하면 갱신이 자기 하위 쿼리를 기다리며 작업자를 붙잡으므로 분리합니다.
+     */
+    public void requestRefresh() {
+        if (!refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            refreshPending.set(false);
+            refreshAll();
+        }, refreshExecutor).exceptionally(e -> {
+            logger.error("메인 페이지 읽기 모델 갱신 실패", e);
+            return null;
+        });
+    }
+
+    /**
+     * 모든 성별의 스냅샷을 새로 계산해 한 번에 교체합니다. 계산 중에도 요청은 이전 스냅샷으로 처리됩니다.
+     * 모든 섹션 조회를 기한 없이 기다리며, 실패한 섹션은 한 번 더 조회합니다. 그래도 실패하면 이전 스냅샷의 섹션을 유지하고,
+     * 이전 스냅샷이 없는 성별은 게시하지 않아 요청 시점 계산으로 넘깁니다.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            Map<String, Snapshot> rebuilt = new HashMap<>();
+            for (String gender : GENDERS) {
+                Snapshot snapshot = buildSnapshot(gender, snapshots.get(gender));
+                if (snapshot != null) {
+                    rebuilt.put(gender, snapshot);
+                }
+            }
+            publish(rebuilt, true);
+            logger.info("메인 페이지 스냅샷 갱신 완료 - {}ms", System.currentTimeMillis() - start);
+        }
+    }
+
+    private Snapshot buildSnapshot(String gender, Snapshot previous) {
+        List<Supplier<List<VtuberSongsEntity>>> queries = sectionQueries(gender);
+        List<CompletableFuture<List<VtuberSongsEntity>>> futures = startSections(queries);
+
+        List<List<VtuberSongsEntity>> sections = new ArrayList<>(queries.size());
+        boolean missing = false;
+        for (int i = 0; i < queries.size(); i++) {
+            List<VtuberSongsEntity> section = awaitOrRetry(gender, i, futures.get(i), queries.get(i));
+            if (section == null) {
+                // 빈 섹션을 게시하지 않도록 직전 스냅샷 값을 유지
+                section = previous != null ? previous.sections().get(i) : null;
+                missing |= section == null;
+            }
+            sections.add(section);
+        }
+        if (missing) {
+            logger.warn("메인 페이지 스냅샷을 만들지 못해 게시하지 않습니다 - 성별: {}", gender);
+            return null;
+        }
+        return new Snapshot(sections);
+    }
+
+    // 섹션 조회 결과를 기다리고, 실패하면 호출 스레드에서 한 번 더 조회. 그래도 실패하면 null
+    private List<VtuberSongsEntity> awaitOrRetry(String gender, int index, CompletableFuture<List<VtuberSongsEntity>> future,
+                                                 Supplier<List<VtuberSongsEntity>> query) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            logger.warn("메인 페이지 섹션 조회 실패, 다시 시도합니다 - 성별: {}, 섹션: {} - {}",
+                    gender, SECTION_NAMES[index], e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            logger.error("메인 페이지 섹션 재조회 실패 - 성별: {}, 섹션: {}", gender, SECTION_NAMES[index], e);
+            return null;
+        }
+    }
+
+    private List<Supplier<List<VtuberSongsEntity>>> sectionQueries(String gender) {
+        return List.of(
+                () -> songService.getRandomVideoSongs(randomPoolSize, gender),
+                () -> sortSongsService.getTop10SongsByViewsIncreaseWeek(gender),
+                () -> sortSongsService.getTop10SongsByViewsIncreaseDay(gender),
+                () -> sortSongsService.getTop9SongsByPublishedAt(gender),
+                () -> songService.getRandomShortsSongs(randomPoolSize, gender),
+                () -> sortSongsService.getTop10ShortsByViewsIncreaseWeek(gender),
+                () -> sortSongsService.getTop9ShortsByPublishedAt(gender));
+    }
+
+    // 섹션 쿼리를 mainPageExecutor에서 동시에 시작. parallel-sections=false면 호출 스레드에서 순서대로 실행한 결과를 담음
+    private List<CompletableFuture<List<VtuberSongsEntity>>> startSections(List<Supplier<List<VtuberSongsEntity>>> queries) {
+        List<CompletableFuture<List<VtuberSongsEntity>>> futures = new ArrayList<>(queries.size());
+        for (Supplier<List<VtuberSongsEntity>> query : queries) {
+            if (parallelSections) {
+                futures.add(CompletableFuture.supplyAsync(query, mainPageExecutor));
+                continue;
+            }
+            try {
+                futures.add(CompletableFuture.completedFuture(query.get()));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return futures;
+    }
+
+    // 요청 경로 계산의 섹션별 결과. 맵에 먼저 등록한 뒤 채우므로 다른 요청은 시작 전에도 같은 future를 기다릴 수 있음
+    private static final class RequestBuild {
+        private final List<CompletableFuture<List<VtuberSongsEntity>>> sections = new ArrayList<>(SECTION_NAMES.length);
+
+        private RequestBuild() {
+            for (int i = 0; i < SECTION_NAMES.length; i++) {
+                sections.add(new CompletableFuture<>());
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final List<VtuberSongsEntity> randomSongPool;
+        private final List<VtuberSongsEntity> top10WeeklySongs;
+        private final List<VtuberSongsEntity> top10DailySongs;
+        private final List<VtuberSongsEntity> top10RecentSongs;
+        private final List<VtuberSongsEntity> randomShortsPool;
+        private final List<VtuberSongsEntity> top10WeeklyShorts;
+        private final List<VtuberSongsEntity> top9RecentShorts;
+
+        // sections는 SECTION_NAMES 순서
+        private Snapshot(List<List<VtuberSongsEntity>> sections) {
+            this.randomSongPool = List.copyOf(sections.get(0));
+            this.top10WeeklySongs = List.copyOf(sections.get(1));
+            this.top10DailySongs = List.copyOf(sections.get(2));
+            this.top10RecentSongs = List.copyOf(sections.get(3));
+            this.randomShortsPool = List.copyOf(sections.get(4));
+            this.top10WeeklyShorts = List.copyOf(sections.get(5));
+            this.top9RecentShorts = List.copyOf(sections.get(6));
+        }
+
+        private List<List<VtuberSongsEntity>> sections() {
+            return List.of(randomSongPool, top10WeeklySongs, top10DailySongs, top10RecentSongs,
+                    randomShortsPool, top10WeeklyShorts, top9RecentShorts);
+        }
+
+        private MainPageResponse toResponse() {
+            return new MainPageResponse(sample(randomSongPool), top10WeeklySongs, top10DailySongs, top10RecentSongs,
+                    sample(randomShortsPool), top10WeeklyShorts, top9RecentShorts);
+        }
+
+        // 풀에서 중복 없이 RANDOM_SECTION_SIZE개를 뽑는 부분 Fisher-Yates
+        private static List<VtuberSongsEntity> sample(List<VtuberSongsEntity> pool) {
+            if (pool.size() <= RANDOM_SECTION_SIZE) {
+                List<VtuberSongsEntity> all = new ArrayList<>(pool);
+                Collections.shuffle(all, ThreadLocalRandom.current());
+                return all;
+            }
+            List<VtuberSongsEntity> copy = new ArrayList<>(pool);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < RANDOM_SECTION_SIZE; i++) {
+                int j = i + random.nextInt(copy.size() - i);
+                VtuberSongsEntity swap = copy.get(i);
+                copy.set(i, copy.get(j));
+                copy.set(j, swap);
+            }
+            return new ArrayList<>(copy.subList(0, RANDOM_SECTION_SIZE));
+        }
+    }
+}
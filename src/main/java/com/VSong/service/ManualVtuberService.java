@@ -3,18 +3,13 @@ package com.VSong.service;
 import com.VSong.entity.VtuberEntity;
 import com.VSong.repository.ExceptVtuberRepository;
 import com.VSong.repository.VtuberRepository;
-import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
-import com.google.api.services.youtube.model.ChannelListResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -24,27 +19,26 @@ public class ManualVtuberService {
 
     private final VtuberRepository vtuberRepository;
     private final ExceptVtuberRepository exceptVtuberRepository;
+    private final KnownChannelIndex knownChannelIndex;
     private final VtuberValidationService validationService;
-    private final YouTube youTube;
-    private final List<String> apiKeys;
-    private int currentKeyIndex = 0;
+    private final YouTubeBatchLoader youTubeBatchLoader;
 
     public ManualVtuberService(VtuberRepository vtuberRepository,
                                ExceptVtuberRepository exceptVtuberRepository,
+                               KnownChannelIndex knownChannelIndex,
                                VtuberValidationService validationService,
-                               YouTube youTube,
-                               @Value("${youtube.api.keys}") String apiKeys) {
+                               YouTubeBatchLoader youTubeBatchLoader) {
         this.vtuberRepository = vtuberRepository;
         this.exceptVtuberRepository = exceptVtuberRepository;
+        this.knownChannelIndex = knownChannelIndex;
         this.validationService = validationService;
-        this.youTube = youTube;
-        this.apiKeys = Arrays.asList(apiKeys.split(","));
+        this.youTubeBatchLoader = youTubeBatchLoader;
     }
 
     public String addVtuberChannel(String channelId) {
         logger.info("수동 버튜버 채널 추가 요청: {}", channelId);
 
-        // 1. 이미 DB에 존재하는지 확인
+        // 1. 이미 DB에 존재하는지 확인 (수동 추가는 드물므로 색인 대신 DB를 직접 확인)
         if (vtuberRepository.existsByChannelId(channelId)) {
             return "이미 존재하는 버튜버 채널입니다: " + channelId;
         }
@@ -84,18 +78,8 @@ public class ManualVtuberService {
     }
 
     private Channel fetchChannelDetails(String channelId) throws IOException {
-        YouTube.Channels.List channelRequest = youTube.channels().list(List.of("snippet", "statistics"));
-        channelRequest.setId(List.of(channelId));
-        channelRequest.setFields("items(id,snippet/title,snippet/description,snippet/thumbnails/default/url,statistics/subscriberCount)");
-        channelRequest.setKey(getCurrentApiKey());
-
-        ChannelListResponse channelResponse = channelRequest.execute();
-        List<Channel> channels = channelResponse.getItems();
-
-        if (channels == null || channels.isEmpty()) {
-            return null;
-        }
-        return channels.get(0);
+        // 다른 작업의 channels.list 요청과 묶여 처리됨
+        return youTubeBatchLoader.getChannel(channelId);
     }
 
     private void saveNewVtuber(Channel channel) {
@@ -114,14 +98,6 @@ public class ManualVtuberService {
         }
         vtuber.setStatus("new");
         vtuberRepository.save(vtuber);
-    }
-
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
-    }
-
-    private synchronized void rotateApiKey() {
-        currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-        logger.warn("API 키를 다음 키로 전환했습니다.");
+        knownChannelIndex.addVtuber(vtuber.getChannelId());
     }
 }
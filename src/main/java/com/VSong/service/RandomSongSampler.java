@@ -0,0 +1,110 @@
+package com.VSong.service;
+
+import com.VSong.repository.VtuberSongsRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 랜덤 노래 조회용으로 (classification, gender)별 노래 ID를 long[]로 들고 있는 샘플러.
+ * ORDER BY RAND()처럼 분류 전체를 정렬하지 않고, Floyd 알고리즘으로 서로 다른 k개 ID를 O(k)에 뽑습니다.
+ * 노래가 추가/삭제되는 스케줄러 작업 뒤에 refresh()로 배열을 통째로 교체합니다.
+ * refresh 사이에 삭제된 노래의 ID가 뽑히면 조회 결과가 k개보다 적을 수 있습니다.
+ */
+@Component
+public class RandomSongSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomSongSampler.class);
+    private static final List<String> CLASSIFICATIONS = List.of("videos", "shorts");
+    private static final List<String> GENDERS = List.of("male", "female", "mixed");
+    private static final String ALL = "all";
+    private static final long[] EMPTY = new long[0];
+
+    private final VtuberSongsRepository vtuberSongsRepository;
+
+    // 교체만 하고 내용은 바꾸지 않는 맵, 키는 "classification:gender"
+    private volatile Map<String, long[]> idsByKey = Map.of();
+
+    public RandomSongSampler(VtuberSongsRepository vtuberSongsRepository) {
+        this.vtuberSongsRepository = vtuberSongsRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        Map<String, long[]> loaded = new HashMap<>();
+        for (String classification : CLASSIFICATIONS) {
+            loaded.put(key(classification, ALL), toArray(vtuberSongsRepository.findIdsByClassification(classification)));
+            for (String gender : GENDERS) {
+                loaded.put(key(classification, gender),
+                        toArray(vtuberSongsRepository.findIdsByClassificationAndGender(classification, gender)));
+            }
+        }
+        idsByKey = Map.copyOf(loaded);
+        logger.info("랜덤 샘플러 ID 갱신 완료 - 영상 {}개, 쇼츠 {}개 - {}ms",
+                idsByKey.get(key("videos", ALL)).length, idsByKey.get(key("shorts", ALL)).length,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 서로 다른 노래 ID를 최대 k개 뽑습니다. gender가 null이면 전체에서 뽑습니다.
+     * 반환 순서도 무작위입니다.
+     */
+    public long[] sample(String classification, String gender, int k) {
+        long[] ids = ids(classification, gender);
+        int n = ids.length;
+        int count = Math.max(0, Math.min(k, n));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Floyd: j = n-count..n-1 마다 [0, j]에서 하나를 골라 이미 뽑혔으면 j를 대신 선택
+        Set<Integer> chosen = new HashSet<>(count * 2);
+        long[] sampled = new long[count];
+        int size = 0;
+        for (int j = n - count; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            int pick = chosen.add(t) ? t : j;
+            if (pick == j) {
+                chosen.add(j);
+            }
+            sampled[size++] = ids[pick];
+        }
+
+        // Floyd의 선택 순서는 균등한 순열이 아니므로 결과 순서를 섞음
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = sampled[i];
+            sampled[i] = sampled[j];
+            sampled[j] = swap;
+        }
+        return sampled;
+    }
+
+    // id 순으로 정렬된 현재 ID 배열. 공유 배열이므로 호출자는 수정하면 안 됨
+    long[] ids(String classification, String gender) {
+        return idsByKey.getOrDefault(key(classification, gender == null ? ALL : gender), EMPTY);
+    }
+
+    private static String key(String classification, String gender) {
+        return classification + ":" + gender;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] array = new long[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        return array;
+    }
+}
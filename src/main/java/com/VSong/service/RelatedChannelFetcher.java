@@ -0,0 +1,180 @@
+package com.VSong.service;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채널의 /channels 탭 HTML을 공유 HTTP 클라이언트로 받아, 페이지에 포함된 ytInitialData JSON에서 연결된 채널 ID를 읽습니다.
+ * 브라우저 없이 제한된 동시성으로 조회하며, 페이지를 받지 못했거나 ytInitialData가 없는 채널은 failed로 돌려줍니다.
+ * related.base-url을 로컬 서버로 바꾸면 저장해 둔 HTML로 동작을 확인할 수 있습니다.
+ */
+@Service
+public class RelatedChannelFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedChannelFetcher.class);
+    private static final Pattern CHANNEL_ID_PATTERN = Pattern.compile("\"channelId\":\"(UC[\\w-]{22})\"");
+    private static final String INITIAL_DATA_MARKER = "ytInitialData = ";
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    @Value("${related.base-url:https://www.youtube.com}")
+    private String baseUrl;
+    @Value("${related.max-concurrency:8}")
+    private int maxConcurrency;
+    @Value("${related.fetch-timeout-minutes:30}")
+    private int fetchTimeoutMinutes;
+
+    public RelatedChannelFetcher(CloseableHttpAsyncClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * 주어진 채널들의 관련 채널 페이지를 조회합니다. 원본 채널 자신은 결과에서 빠집니다.
+     */
+    public FetchResult fetch(List<String> channelIds) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<Set<String>>> futures = new ArrayList<>(channelIds.size());
+
+        for (String channelId : channelIds) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CompletableFuture<Set<String>> future = fetch(channelId);
+            future.whenComplete((result, error) -> permits.release());
+            futures.add(future);
+        }
+
+        Map<String, Set<String>> linkedBySource = new LinkedHashMap<>();
+        List<String> failedChannelIds = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(fetchTimeoutMinutes);
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<Set<String>> future = futures.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                Set<String> result = future.get(remaining, TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    linkedBySource.put(channelIds.get(i), result);
+                } else {
+                    failedChannelIds.add(channelIds.get(i));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                future.cancel(true);
+                failedChannelIds.add(channelIds.get(i));
+            }
+        }
+
+        FetchResult fetchResult = new FetchResult(linkedBySource, failedChannelIds);
+        logger.info("관련 채널 페이지 조회 완료 - 대상: {}개, 실패: {}개, 발견 ID: {}개",
+                channelIds.size(), failedChannelIds.size(), fetchResult.getLinkedChannelIds().size());
+        return fetchResult;
+    }
+
+    private CompletableFuture<Set<String>> fetch(String channelId) {
+        // 동의 페이지로 리디렉션되지 않도록 CONSENT 쿠키를 함께 보냄
+        SimpleHttpRequest request = SimpleRequestBuilder.get(baseUrl + "/channel/" + channelId + "/channels")
+                .setHeader("Accept-Language", "ko-KR,ko;q=0.9")
+                .setHeader("Cookie", "CONSENT=YES+")
+                .build();
+
+        CompletableFuture<Set<String>> future = new CompletableFuture<>();
+        httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                if (response.getCode() != HttpStatus.SC_OK) {
+                    logger.warn("관련 채널 페이지 응답 오류 - 채널: {} - HTTP {}", channelId, response.getCode());
+                    future.complete(null);
+                    return;
+                }
+                future.complete(parseLinkedChannelIds(channelId, response.getBodyText()));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                logger.warn("관련 채널 페이지 조회 실패 - 채널: {} - {}", channelId, e.getMessage());
+                future.complete(null);
+            }
+
+            @Override
+            public void cancelled() {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    // ytInitialData 구간의 "channelId" 값만 읽음. 구간이 없으면 페이지 구조가 달라진 것으로 보고 실패 처리
+    static Set<String> parseLinkedChannelIds(String channelId, String html) {
+        if (html == null) {
+            return null;
+        }
+        int start = html.indexOf(INITIAL_DATA_MARKER);
+        if (start < 0) {
+            logger.warn("관련 채널 페이지에 ytInitialData가 없음 - 채널: {}", channelId);
+            return null;
+        }
+        int end = html.indexOf(";</script>", start);
+        String initialData = html.substring(start, end > 0 ? end : html.length());
+
+        Set<String> linked = new LinkedHashSet<>();
+        Matcher matcher = CHANNEL_ID_PATTERN.matcher(initialData);
+        while (matcher.find()) {
+            linked.add(matcher.group(1));
+        }
+        linked.remove(channelId);
+        return linked;
+    }
+
+    public static class FetchResult {
+        private final Map<String, Set<String>> linkedBySource;
+        private final List<String> failedChannelIds;
+
+        FetchResult(Map<String, Set<String>> linkedBySource, List<String> failedChannelIds) {
+            this.linkedBySource = Collections.unmodifiableMap(linkedBySource);
+            this.failedChannelIds = Collections.unmodifiableList(failedChannelIds);
+        }
+
+        // 페이지를 읽은 원본 채널별 연결 채널 ID
+        public Map<String, Set<String>> getLinkedBySource() {
+            return linkedBySource;
+        }
+
+        public Set<String> getLinkedChannelIds() {
+            Set<String> linked = new LinkedHashSet<>();
+            linkedBySource.values().forEach(linked::addAll);
+            return linked;
+        }
+
+        public List<String> getFailedChannelIds() {
+            return failedChannelIds;
+        }
+    }
+}
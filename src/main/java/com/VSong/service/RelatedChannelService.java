@@ -1,197 +1,398 @@
 package com.VSong.service;
 
+import com.VSong.entity.DiscoveryFrontierEntity;
 import com.VSong.entity.VtuberEntity;
-import com.VSong.repository.ExceptVtuberRepository;
+import com.VSong.repository.DiscoveryFrontierRepository;
 import com.VSong.repository.VtuberRepository;
-import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
-import com.google.api.services.youtube.model.ChannelListResponse;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeDriverService;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 public class RelatedChannelService {
 
     private static final Logger logger = LoggerFactory.getLogger(RelatedChannelService.class);
+    private static final int MAX_IDS_PER_REQUEST = 50;
+    private static final String CHANNEL_RENDERER_SELECTOR = "ytd-channel-renderer, ytd-grid-channel-renderer";
+    private static final String CHANNEL_LINK_SELECTOR =
+            "ytd-channel-renderer a[href*='/channel/'], ytd-grid-channel-renderer a[href*='/channel/']";
 
     private final VtuberRepository vtuberRepository;
-    private final ExceptVtuberRepository exceptVtuberRepository;
+    private final DiscoveryFrontierRepository frontierRepository;
+    private final KnownChannelIndex knownChannelIndex;
     private final VtuberValidationService validationService; // 주입
-    private final YouTube youTube;
-    private final List<String> apiKeys;
-    private int currentKeyIndex = 0;
+    private final YouTubeBatchLoader youTubeBatchLoader;
+    private final YouTubeApiService youTubeApiService;
+    private final RelatedChannelFetcher relatedChannelFetcher;
+    private final WebDriverPool webDriverPool;
+
+    // http(기본): 채널 페이지 HTML의 ytInitialData 파싱, selenium: 기존 헤드리스 Chrome 스크래핑
+    @Value("${related.discovery-mode:http}")
+    private String discoveryMode;
+    // http 모드에서 페이지를 읽지 못한 채널만 Selenium으로 다시 시도
+    @Value("${related.selenium-fallback:false}")
+    private boolean seleniumFallback;
+    @Value("${webdriver.page-timeout-seconds:15}")
+    private long pageTimeoutSeconds;
+    @Value("${related.validation-workers:4}")
+    private int validationWorkers;
+    @Value("${related.save-batch-size:100}")
+    private int saveBatchSize;
+    @Value("${related.frontier.max-nodes-per-run:500}")
+    private int maxNodesPerRun;
+    @Value("${related.frontier.expand-batch-size:100}")
+    private int expandBatchSize;
+    @Value("${related.frontier.revisit-days:30}")
+    private int revisitDays;
+    @Value("${related.frontier.time-budget-minutes:60}")
+    private long timeBudgetMinutes;
+    // 페이지를 읽지 못한 노드의 재시도 대기: 첫 실패 뒤 retry-base-minutes, 실패할 때마다 두 배 (최대 retry-max-minutes)
+    @Value("${related.frontier.retry-base-minutes:30}")
+    private long retryBaseMinutes;
+    @Value("${related.frontier.retry-max-minutes:10080}")
+    private long retryMaxMinutes;
 
     public RelatedChannelService(VtuberRepository vtuberRepository,
-                                 ExceptVtuberRepository exceptVtuberRepository,
+                                 DiscoveryFrontierRepository frontierRepository,
+                                 KnownChannelIndex knownChannelIndex,
                                  VtuberValidationService validationService, // 주입
-                                 YouTube youTube,
-                                 @Value("${youtube.api.keys}") String apiKeys) {
+                                 YouTubeBatchLoader youTubeBatchLoader,
+                                 YouTubeApiService youTubeApiService,
+                                 RelatedChannelFetcher relatedChannelFetcher,
+                                 WebDriverPool webDriverPool) {
         this.vtuberRepository = vtuberRepository;
-        this.exceptVtuberRepository = exceptVtuberRepository;
+        this.frontierRepository = frontierRepository;
+        this.knownChannelIndex = knownChannelIndex;
         this.validationService = validationService; // 주입
-        this.youTube = youTube;
-        this.apiKeys = Arrays.asList(apiKeys.split(","));
+        this.youTubeBatchLoader = youTubeBatchLoader;
+        this.youTubeApiService = youTubeApiService;
+        this.relatedChannelFetcher = relatedChannelFetcher;
+        this.webDriverPool = webDriverPool;
     }
 
+    /**
+     * 프런티어에서 오래되었거나 방문하지 않은 노드를 우선순위 순으로 꺼내 관련 채널을 확장합니다.
+     * 한 번의 실행은 related.frontier.max-nodes-per-run 노드, related.frontier.time-budget-minutes 시간,
+     * 그리고 남은 API 할당량 안에서 멈춥니다.
+     */
     public void discoverAndSaveFromRelatedChannels() {
         logger.info("=== 관련 채널 기반 버튜버 탐색 시작 ===");
 
-        List<String> existingVtuberIds = vtuberRepository.findAllChannelIds();
-        Set<String> exceptChannelIds = new HashSet<>(exceptVtuberRepository.findAllChannelIds());
-        Set<String> allKnownIds = new HashSet<>(existingVtuberIds);
-        allKnownIds.addAll(exceptChannelIds);
-
-        int batchSize = 10;
-        Set<String> allDiscoveredChannelIds = new HashSet<>();
-
-        for (int i = 0; i < existingVtuberIds.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, existingVtuberIds.size());
-            List<String> batch = existingVtuberIds.subList(i, end);
-
-            logger.info("배치 {}/{} 처리 중...", (i/batchSize) + 1, (existingVtuberIds.size() + batchSize - 1) / batchSize);
-
-            Set<String> batchResults = processBatchSequentially(batch, allKnownIds);
-            allDiscoveredChannelIds.addAll(batchResults);
+        int seeded = frontierRepository.seedFromVtubers();
+        if (seeded > 0) {
+            logger.info("탐색 프런티어에 새 노드 {}개 추가", seeded);
+        }
 
-            try {
-                Thread.sleep(1000);
-                System.gc();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+        LocalDateTime staleBefore = LocalDateTime.now().minusDays(revisitDays);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(timeBudgetMinutes);
+        int expanded = 0;
+        int savedCount = 0;
+        while (expanded < maxNodesPerRun) {
+            if (System.nanoTime() >= deadline) {
+                logger.info("탐색 시간 예산을 모두 사용했습니다.");
                 break;
             }
+            if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.CHANNELS_LIST)) {
+                logger.warn("오늘 남은 API 할당량이 없어 탐색을 중단합니다.");
+                break;
+            }
+            int size = Math.min(expandBatchSize, maxNodesPerRun - expanded);
+            List<DiscoveryFrontierEntity> nodes =
+                    frontierRepository.findExpandable(staleBefore, LocalDateTime.now(), PageRequest.of(0, size));
+            if (nodes.isEmpty()) {
+                break;
+            }
+            savedCount += expandNodes(nodes);
+            expanded += nodes.size();
         }
 
-        logger.info("총 {}개의 새로운 관련 채널 ID를 발견했습니다.", allDiscoveredChannelIds.size());
+        logger.info("=== 관련 채널 기반 버튜버 탐색 종료 - 확장한 노드: {}개, 저장한 버튜버: {}개 ===", expanded, savedCount);
+    }
 
-        if (!allDiscoveredChannelIds.isEmpty()) {
-            processDiscoveredChannels(allDiscoveredChannelIds);
+    private int expandNodes(List<DiscoveryFrontierEntity> nodes) {
+        List<String> sourceIds = nodes.stream().map(DiscoveryFrontierEntity::getChannelId).collect(Collectors.toList());
+        Map<String, Set<String>> linkedBySource = discoverLinkedChannels(sourceIds);
+        // 페이지를 읽은 노드만 방문 처리. 읽지 못한 노드는 재시도 시각을 뒤로 미뤄 같은 실행에서 다시 선택되지 않도록 함
+        LocalDateTime now = LocalDateTime.now();
+        if (!linkedBySource.isEmpty()) {
+            frontierRepository.markVisited(linkedBySource.keySet(), now);
+        }
+        List<String> failedIds = sourceIds.stream().filter(id -> !linkedBySource.containsKey(id)).collect(Collectors.toList());
+        if (!failedIds.isEmpty()) {
+            frontierRepository.markFailed(failedIds, now, retryBaseMinutes, retryMaxMinutes);
+            logger.info("관련 채널 페이지를 읽지 못한 노드 {}개는 재시도 대기로 미룹니다.", failedIds.size());
+        }
+
+        Map<String, List<String>> sourcesByDiscovered = new LinkedHashMap<>();
+        linkedBySource.forEach((source, linked) -> {
+            for (String discoveredId : linked) {
+                if (!youtubeOfficialChannels.contains(discoveredId)) {
+                    sourcesByDiscovered.computeIfAbsent(discoveredId, id -> new ArrayList<>()).add(source);
+                }
+            }
+        });
+        List<String> unknownChannelIds = knownChannelIndex.filterUnknown(sourcesByDiscovered.keySet());
+        logger.info("노드 {}개 확장 - 새로운 관련 채널 {}개 발견", nodes.size(), unknownChannelIds.size());
+        if (unknownChannelIds.isEmpty()) {
+            return 0;
         }
 
-        logger.info("=== 관련 채널 기반 버튜버 탐색 종료 ===");
+        List<VtuberEntity> accepted = processDiscoveredChannels(unknownChannelIds);
+
+        // 버튜버를 찾아낸 노드의 우선순위를 올리고, 새 버튜버는 부모 우선순위의 절반을 물려받은 노드로 추가
+        Map<String, Integer> priorityBySource = nodes.stream()
+                .collect(Collectors.toMap(DiscoveryFrontierEntity::getChannelId, DiscoveryFrontierEntity::getPriority));
+        Map<String, Integer> acceptedBySource = new HashMap<>();
+        for (VtuberEntity vtuber : accepted) {
+            int inheritedPriority = 0;
+            for (String source : sourcesByDiscovered.getOrDefault(vtuber.getChannelId(), List.of())) {
+                acceptedBySource.merge(source, 1, Integer::sum);
+                inheritedPriority = Math.max(inheritedPriority, priorityBySource.getOrDefault(source, 0));
+            }
+            frontierRepository.addNode(vtuber.getChannelId(), inheritedPriority / 2 + 1);
+        }
+        acceptedBySource.forEach(frontierRepository::addAcceptedNeighbors);
+        return accepted.size();
     }
 
-    private Set<String> processBatchSequentially(List<String> batch, Set<String> allKnownIds) {
-        Set<String> discoveredIds = new HashSet<>();
-        WebDriver driver = createOptimizedChromeDriver();
+    // 원본 채널별로 연결된 채널 ID를 조회 (http 모드에서 실패한 채널은 설정에 따라 Selenium으로 재시도)
+    private Map<String, Set<String>> discoverLinkedChannels(List<String> sourceIds) {
+        if ("selenium".equalsIgnoreCase(discoveryMode)) {
+            return discoverWithSelenium(sourceIds);
+        }
+        RelatedChannelFetcher.FetchResult fetchResult = relatedChannelFetcher.fetch(sourceIds);
+        Map<String, Set<String>> linkedBySource = new HashMap<>(fetchResult.getLinkedBySource());
+        if (!fetchResult.getFailedChannelIds().isEmpty()) {
+            if (seleniumFallback) {
+                linkedBySource.putAll(discoverWithSelenium(fetchResult.getFailedChannelIds()));
+            } else {
+                logger.warn("관련 채널 페이지를 읽지 못한 채널 {}개는 이번 탐색에서 제외됩니다.", fetchResult.getFailedChannelIds().size());
+            }
+        }
+        return linkedBySource;
+    }
 
+    // 풀의 드라이버 수만큼 작업자를 두고 채널 페이지를 병렬로 스크래핑
+    private Map<String, Set<String>> discoverWithSelenium(List<String> channelIds) {
+        Map<String, Set<String>> linkedBySource = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(webDriverPool.getPoolSize());
         try {
-            for (String channelId : batch) {
-                String url = "https://www.youtube.com/channel/" + channelId + "/channels";
-                logger.info("채널 탐색 중: " + channelId);
-
-                try {
-                    driver.get(url);
-                    Thread.sleep(5000);
-
-                    List<String> selectors = Arrays.asList(
-                            "ytd-channel-renderer a.yt-simple-endpoint",
-                            "ytd-channel-renderer a[href*='/channel/']",
-                            "a[href*='/channel/']"
-                    );
-
-                    boolean foundAny = false;
-                    for (String selector : selectors) {
-                        List<WebElement> elements = driver.findElements(By.cssSelector(selector));
-                        if (!elements.isEmpty()) {
-                            foundAny = true;
-                            for (WebElement element : elements) {
-                                String href = element.getAttribute("href");
-                                if (href != null && href.contains("/channel/")) {
-                                    String discoveredId = extractChannelId(href);
-                                    if (discoveredId != null && !allKnownIds.contains(discoveredId)) {
-                                        if (!isYouTubeOfficialChannel(discoveredId, element.getText())) {
-                                            discoveredIds.add(discoveredId);
-                                            logger.info("새로운 관련 채널 발견: {}", discoveredId);
-                                        }
-                                    }
-                                }
-                            }
-                            break;
-                        }
+            List<Future<?>> futures = new ArrayList<>();
+            for (String channelId : channelIds) {
+                futures.add(executor.submit(() -> {
+                    Set<String> discoveredIds = new HashSet<>();
+                    // 시간 초과나 드라이버 오류로 페이지를 확인하지 못한 채널은 결과에서 빼 실패로 남김
+                    if (discoverWithPooledDriver(channelId, discoveredIds)) {
+                        linkedBySource.put(channelId, discoveredIds);
                     }
-                    if (!foundAny) {
-                        logger.warn("채널 {} - 어떤 관련 채널도 찾을 수 없음", channelId);
-                    }
-                } catch (Exception e) {
-                    logger.error("채널 페이지 스크래핑 중 오류 발생: " + url, e);
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Selenium 탐색 작업 오류", e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    logger.warn("WebDriver 종료 중 오류", e);
+            executor.shutdownNow();
+        }
+        logger.info("Selenium 탐색 완료 - 대상: {}개, 페이지 확인: {}개", channelIds.size(), linkedBySource.size());
+        return linkedBySource;
+    }
+
+    // 채널 카드가 렌더링된 페이지를 읽었으면 true
+    private boolean discoverWithPooledDriver(String channelId, Set<String> discoveredIds) {
+        WebDriverPool.PooledDriver pooled;
+        try {
+            pooled = webDriverPool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        boolean healthy = true;
+        String url = "https://www.youtube.com/channel/" + channelId + "/channels";
+        try {
+            logger.info("채널 탐색 중: {}", channelId);
+            WebDriver driver = pooled.open(url);
+            try {
+                // 고정 대기 대신 채널 카드가 렌더링될 때까지만 기다림
+                new WebDriverWait(driver, Duration.ofSeconds(pageTimeoutSeconds))
+                        .until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(CHANNEL_RENDERER_SELECTOR)));
+            } catch (TimeoutException e) {
+                logger.warn("채널 {} - 어떤 관련 채널도 찾을 수 없음", channelId);
+                return false;
+            }
+
+            for (WebElement element : driver.findElements(By.cssSelector(CHANNEL_LINK_SELECTOR))) {
+                String href = element.getAttribute("href");
+                if (href != null && href.contains("/channel/")) {
+                    String discoveredId = extractChannelId(href);
+                    if (discoveredId != null && !discoveredId.equals(channelId) && !knownChannelIndex.isKnown(discoveredId)
+                            && !isYouTubeOfficialChannel(discoveredId, element.getText())) {
+                        discoveredIds.add(discoveredId);
+                    }
                 }
             }
+            return true;
+        } catch (WebDriverException e) {
+            // 드라이버 세션 오류는 다음 작업에 넘기지 않도록 교체
+            healthy = false;
+            logger.error("채널 페이지 스크래핑 중 오류 발생: " + url, e);
+            return false;
+        } finally {
+            webDriverPool.release(pooled, healthy);
         }
-        return discoveredIds;
     }
 
-    private void processDiscoveredChannels(Set<String> channelIds) {
+    private List<VtuberEntity> processDiscoveredChannels(List<String> channelIds) {
         logger.info("새로 발견된 채널 정보 처리 시작. 대상: {}개", channelIds.size());
-        try {
-            YouTube.Channels.List channelRequest = youTube.channels().list(List.of("snippet", "statistics"));
-            channelRequest.setId(new java.util.ArrayList<>(channelIds));
-            channelRequest.setFields("items(id,snippet/title,snippet/description,snippet/thumbnails/default/url,statistics/subscriberCount)");
-            channelRequest.setKey(getCurrentApiKey());
+        List<List<String>> chunks = partitionList(channelIds, MAX_IDS_PER_REQUEST);
+        if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.CHANNELS_LIST, chunks.size())) {
+            logger.warn("오늘 남은 API 할당량이 부족해 발견된 채널 처리를 건너뜁니다. (필요: {} 유닛)", chunks.size());
+            return List.of();
+        }
 
-            ChannelListResponse channelResponse = channelRequest.execute();
-            List<Channel> channels = channelResponse.getItems();
+        List<Channel> channels = resolveChannels(chunks);
+        logger.info("API로부터 {}개 채널 정보 조회 완료", channels.size());
+        if (channels.isEmpty()) {
+            return List.of();
+        }
+
+        List<VtuberEntity> accepted = validateChannels(channels);
+        List<VtuberEntity> saved = new ArrayList<>(accepted.size());
+        for (List<VtuberEntity> batch : partitionList(accepted, saveBatchSize)) {
+            saved.addAll(saveBatch(batch));
+        }
+        saved.forEach(vtuber -> knownChannelIndex.addVtuber(vtuber.getChannelId()));
+        logger.info("채널 처리 완료 - 저장: {}개, 검증 통과: {}개, 총 처리: {}개", saved.size(), accepted.size(), channels.size());
+        return saved;
+    }
 
-            if (channels == null || channels.isEmpty()) {
-                logger.warn("API로부터 채널 정보를 가져오지 못했습니다.");
-                return;
+    // 묶음 저장이 실패하면(중복 채널 등) 묶음 전체가 롤백되므로 하나씩 다시 저장해 문제 있는 채널만 건너뜀
+    private List<VtuberEntity> saveBatch(List<VtuberEntity> batch) {
+        try {
+            vtuberRepository.saveAll(batch);
+            return batch;
+        } catch (RuntimeException e) {
+            logger.warn("버튜버 {}개 묶음 저장 실패, 개별 저장으로 재시도합니다: {}", batch.size(), e.getMessage());
+        }
+        List<VtuberEntity> saved = new ArrayList<>(batch.size());
+        for (VtuberEntity vtuber : batch) {
+            // 롤백된 insert에서 받은 ID가 남아 있으면 merge로 처리되므로 새 엔티티로 되돌림
+            vtuber.setId(null);
+            try {
+                saved.add(vtuberRepository.save(vtuber));
+            } catch (RuntimeException e) {
+                logger.error("버튜버 저장 실패: {} ({})", vtuber.getName(), vtuber.getChannelId(), e);
             }
+        }
+        return saved;
+    }
 
-            logger.info("API로부터 {}개 채널 정보 조회 완료", channels.size());
+    // 50개 단위 channels.list 요청을 한꺼번에 보내 병렬로 조회. 실패한 묶음은 한 번 더 시도하고, 그래도 실패하면 ID를 남김
+    private List<Channel> resolveChannels(List<List<String>> chunks) {
+        List<CompletableFuture<Map<String, Channel>>> futures = new ArrayList<>(chunks.size());
+        for (List<String> chunk : chunks) {
+            futures.add(youTubeBatchLoader.channelsAsync(chunk));
+        }
 
-            int savedCount = 0;
-            for (Channel channel : channels) {
-                String channelId = channel.getId();
-                String channelTitle = channel.getSnippet().getTitle();
-
-                // Validation using VtuberValidationService
-                String notProcessableReason = validationService.getChannelProcessableReason(channelId);
-                if (notProcessableReason != null) {
-                    logger.info("처리 불가 채널: {} ({}) - 이유: {}", channelTitle, channelId, notProcessableReason);
-                    continue;
+        List<Channel> channels = new ArrayList<>();
+        List<String> unresolved = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            List<String> chunk = chunks.get(i);
+            try {
+                channels.addAll(YouTubeBatchLoader.await(futures.get(i)).values());
+            } catch (IOException e) {
+                logger.warn("채널 {}개 조회 실패, 재시도합니다: {}", chunk.size(), e.getMessage());
+                try {
+                    channels.addAll(youTubeBatchLoader.getChannels(chunk).values());
+                } catch (IOException retryError) {
+                    unresolved.addAll(chunk);
                 }
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            logger.error("채널 정보를 조회하지 못한 발견 채널 {}개: {}", unresolved.size(), unresolved);
+        }
+        return channels;
+    }
 
-                String notVtuberReason = validationService.getKoreanVtuberReason(channel);
-                if (notVtuberReason != null) {
-                    logger.info("버튜버 아님으로 필터링: {} ({}) - 이유: {}", channelTitle, channelId, notVtuberReason);
-                    continue;
+    // 콘텐츠 패턴 확인에 API 호출이 섞일 수 있으므로 검증을 작업자 풀에서 병렬로 수행
+    private List<VtuberEntity> validateChannels(List<Channel> channels) {
+        List<VtuberEntity> accepted = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(validationWorkers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Channel channel : channels) {
+                futures.add(executor.submit(() -> {
+                    VtuberEntity vtuber = validateChannel(channel);
+                    if (vtuber != null) {
+                        accepted.add(vtuber);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("채널 검증 작업 오류", e.getCause());
                 }
-
-                logger.info("저장 조건 만족 - 새 버튜버 저장: {}", channelTitle);
-                saveNewVtuber(channel);
-                savedCount++;
             }
-            logger.info("채널 처리 완료 - 저장: {}개, 총 처리: {}개", savedCount, channels.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return accepted;
+    }
 
-        } catch (IOException e) {
-            logger.error("YouTube API 호출 중 오류 발생", e);
-            rotateApiKey();
+    private VtuberEntity validateChannel(Channel channel) {
+        String channelId = channel.getId();
+        String channelTitle = channel.getSnippet().getTitle();
+
+        String notProcessableReason = validationService.getChannelProcessableReason(channelId);
+        if (notProcessableReason != null) {
+            logger.info("처리 불가 채널: {} ({}) - 이유: {}", channelTitle, channelId, notProcessableReason);
+            return null;
+        }
+
+        String notVtuberReason = validationService.getKoreanVtuberReason(channel);
+        if (notVtuberReason != null) {
+            logger.info("버튜버 아님으로 필터링: {} ({}) - 이유: {}", channelTitle, channelId, notVtuberReason);
+            return null;
         }
+
+        logger.info("저장 조건 만족 - 새 버튜버 저장: {}", channelTitle);
+        return toNewVtuber(channel);
     }
 
-    private void saveNewVtuber(Channel channel) {
+    private VtuberEntity toNewVtuber(Channel channel) {
         VtuberEntity vtuber = new VtuberEntity();
         vtuber.setChannelId(channel.getId());
         vtuber.setName(channel.getSnippet().getTitle());
@@ -206,8 +407,15 @@ public class RelatedChannelService {
             vtuber.setChannelImg(channel.getSnippet().getThumbnails().getDefault().getUrl());
         }
         vtuber.setStatus("new");
-        vtuberRepository.save(vtuber);
-        logger.info("새로운 버튜버 저장 완료: {}", vtuber.getName());
+        return vtuber;
+    }
+
+    private <T> List<List<T>> partitionList(List<T> list, int size) {
+        List<List<T>> partitions = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            partitions.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return partitions;
     }
 
     private String extractChannelId(String href) {
@@ -220,23 +428,6 @@ public class RelatedChannelService {
         }
     }
 
-    private WebDriver createOptimizedChromeDriver() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu", "--remote-allow-origins=*", "--mute-audio");
-        // ... (other options can be kept for performance)
-        return new ChromeDriver(options);
-    }
-
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
-    }
-
-    private synchronized void rotateApiKey() {
-        currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-        logger.warn("API 키를 다음 키로 전환했습니다.");
-    }
-
     private final List<String> youtubeOfficialChannels = Arrays.asList(
             "UCkYQyvc_i9hXEo4xic9Hh2g", "UC-9-kyTW8ZkZNDHQJ6FgpwQ", "UC4R8DWoMoI7CAwX8_LjQHig",
             "UCEgdi0XIXXZ-qJOFPf4JSKw", "UCOpNcN46UbXVtpKMrmU4Abg", "UCYfdidRxbB8Qhf0Nx7ioOYw"
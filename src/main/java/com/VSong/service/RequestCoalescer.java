@@ -0,0 +1,126 @@
+package com.VSong.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 호출자가 요청한 ID를 모아 한 번의 목록 조회(videos.list, channels.list 등)로 처리합니다.
+ * 대기 중인 ID가 maxBatchSize에 도달하면 즉시, 그렇지 않으면 lingerMillis 후에 요청을 보내고
+ * 호출자별 future를 완료합니다. 응답에 없는 ID의 future는 null로 완료됩니다.
+ */
+public class RequestCoalescer<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    @FunctionalInterface
+    public interface BatchLoader<T> {
+        Map<String, T> load(List<String> ids) throws IOException;
+    }
+
+    private final String name;
+    private final BatchLoader<T> loader;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Executor flushExecutor;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<String, List<CompletableFuture<T>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> lingerTask;
+
+    public RequestCoalescer(String name, BatchLoader<T> loader, int maxBatchSize, long lingerMillis,
+                            ScheduledExecutorService scheduler, Executor flushExecutor) {
+        this.name = name;
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.scheduler = scheduler;
+        this.flushExecutor = flushExecutor;
+    }
+
+    public CompletableFuture<T> submit(String id) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Map<String, List<CompletableFuture<T>>> fullBatch = null;
+        synchronized (lock) {
+            pending.computeIfAbsent(id, key -> new ArrayList<>()).add(future);
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drainPending();
+            } else if (lingerTask == null) {
+                lingerTask = scheduler.schedule(this::flushOnLinger, lingerMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            Map<String, List<CompletableFuture<T>>> batch = fullBatch;
+            flushExecutor.execute(() -> flush(batch));
+        }
+        return future;
+    }
+
+    /**
+     * 여러 ID를 한꺼번에 요청합니다. 결과 Map에는 응답에 포함된 ID만 들어갑니다.
+     */
+    public CompletableFuture<Map<String, T>> submitAll(Collection<String> ids) {
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (String id : ids) {
+            futures.computeIfAbsent(id, this::submit);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<String, T> results = new LinkedHashMap<>();
+                    futures.forEach((id, future) -> {
+                        T value = future.join();
+                        if (value != null) {
+                            results.put(id, value);
+                        }
+                    });
+                    return results;
+                });
+    }
+
+    private void flushOnLinger() {
+        Map<String, List<CompletableFuture<T>>> batch;
+        synchronized (lock) {
+            lingerTask = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drainPending();
+        }
+        flushExecutor.execute(() -> flush(batch));
+    }
+
+    // lock 안에서 호출
+    private Map<String, List<CompletableFuture<T>>> drainPending() {
+        Map<String, List<CompletableFuture<T>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        return batch;
+    }
+
+    private void flush(Map<String, List<CompletableFuture<T>>> batch) {
+        List<String> ids = new ArrayList<>(batch.keySet());
+        try {
+            Map<String, T> loaded = loader.load(ids);
+            logger.debug("[{}] {}개 ID 일괄 조회 완료 (응답 {}개)", name, ids.size(), loaded.size());
+            batch.forEach((id, futures) -> futures.forEach(future -> future.complete(loaded.get(id))));
+        } catch (Exception e) {
+            logger.warn("[{}] {}개 ID 일괄 조회 실패: {}", name, ids.size(), e.getMessage());
+            batch.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+}
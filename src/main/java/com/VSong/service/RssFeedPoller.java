@@ -0,0 +1,217 @@
+package com.VSong.service;
+
+import com.VSong.entity.VtuberEntity;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 기존 VTuber 채널의 RSS 피드를 제한된 동시성으로 조회합니다.
+ * 채널별로 저장한 ETag / Last-Modified 값으로 조건부 GET을 보내 변경 없는 피드는 304로 본문 없이 건너뛰고,
+ * 변경된 피드는 DOM을 만들지 않고 StAX로 videoId만 읽어냅니다.
+ */
+@Service
+public class RssFeedPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(RssFeedPoller.class);
+    private static final String YOUTUBE_XML_NAMESPACE = "http://www.youtube.com/xml/schemas/2015";
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final XMLInputFactory xmlInputFactory;
+
+    @Value("${rss.base-url:https://www.youtube.com}")
+    private String baseUrl;
+    @Value("${rss.max-concurrency:16}")
+    private int maxConcurrency;
+    @Value("${rss.poll-timeout-minutes:30}")
+    private int pollTimeoutMinutes;
+
+    public RssFeedPoller(CloseableHttpAsyncClient httpClient) {
+        this.httpClient = httpClient;
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * 모든 채널의 피드를 조회해 결과를 돌려줍니다. 피드 조회에 실패한 채널은 결과에서 빠집니다.
+     * 새 ETag / Last-Modified 값은 결과에만 담기며, 호출자가 동영상 처리를 마친 뒤 저장해야 합니다.
+     */
+    public List<FeedResult> poll(List<VtuberEntity> vtubers) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<FeedResult>> futures = new ArrayList<>(vtubers.size());
+
+        for (VtuberEntity vtuber : vtubers) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CompletableFuture<FeedResult> future;
+            try {
+                future = fetch(vtuber);
+            } catch (RuntimeException e) {
+                // 요청이 시작되지 않았으므로 whenComplete가 불리지 않음
+                permits.release();
+                logger.warn("RSS 피드 요청 실패 - 채널: {} - {}", vtuber.getName(), e.getMessage());
+                continue;
+            }
+            future.whenComplete((result, error) -> permits.release());
+            futures.add(future);
+        }
+
+        List<FeedResult> results = new ArrayList<>(futures.size());
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(pollTimeoutMinutes);
+        for (CompletableFuture<FeedResult> future : futures) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                FeedResult result = future.get(remaining, TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                future.cancel(true);
+            }
+        }
+
+        long notModified = results.stream().filter(result -> !result.isModified()).count();
+        logger.info("RSS 피드 조회 완료 - 대상: {}개, 응답: {}개, 변경 없음(304): {}개", vtubers.size(), results.size(), notModified);
+        return results;
+    }
+
+    private CompletableFuture<FeedResult> fetch(VtuberEntity vtuber) {
+        SimpleRequestBuilder builder = SimpleRequestBuilder.get(baseUrl + "/feeds/videos.xml?channel_id=" + vtuber.getChannelId());
+        if (vtuber.getFeedEtag() != null) {
+            builder.setHeader("If-None-Match", vtuber.getFeedEtag());
+        }
+        if (vtuber.getFeedLastModified() != null) {
+            builder.setHeader("If-Modified-Since", vtuber.getFeedLastModified());
+        }
+        SimpleHttpRequest request = builder.build();
+
+        CompletableFuture<FeedResult> future = new CompletableFuture<>();
+        httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    future.complete(toResult(vtuber, response));
+                } catch (Exception e) {
+                    logger.warn("RSS 피드 파싱 실패 - 채널: {} - {}", vtuber.getName(), e.getMessage());
+                    future.complete(null);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                logger.warn("RSS 피드 조회 실패 - 채널: {} - {}", vtuber.getName(), e.getMessage());
+                future.complete(null);
+            }
+
+            @Override
+            public void cancelled() {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    private FeedResult toResult(VtuberEntity vtuber, SimpleHttpResponse response) throws XMLStreamException {
+        int status = response.getCode();
+        if (status == HttpStatus.SC_NOT_MODIFIED) {
+            return new FeedResult(vtuber, Collections.emptyList(), false, vtuber.getFeedEtag(), vtuber.getFeedLastModified());
+        }
+        if (status != HttpStatus.SC_OK) {
+            logger.warn("RSS 피드 응답 오류 - 채널: {} - HTTP {}", vtuber.getName(), status);
+            return null;
+        }
+        List<String> videoIds = parseVideoIds(response.getBodyBytes());
+        return new FeedResult(vtuber, videoIds, true, headerValue(response, "ETag"), headerValue(response, "Last-Modified"));
+    }
+
+    private List<String> parseVideoIds(byte[] body) throws XMLStreamException {
+        List<String> videoIds = new ArrayList<>();
+        if (body == null || body.length == 0) {
+            return videoIds;
+        }
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(body));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && "videoId".equals(reader.getLocalName())
+                        && YOUTUBE_XML_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    videoIds.add(reader.getElementText().trim());
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return videoIds;
+    }
+
+    private String headerValue(SimpleHttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    public static class FeedResult {
+        private final VtuberEntity vtuber;
+        private final List<String> videoIds;
+        private final boolean modified;
+        private final String etag;
+        private final String lastModified;
+
+        FeedResult(VtuberEntity vtuber, List<String> videoIds, boolean modified, String etag, String lastModified) {
+            this.vtuber = vtuber;
+            this.videoIds = videoIds;
+            this.modified = modified;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public VtuberEntity getVtuber() {
+            return vtuber;
+        }
+
+        public List<String> getVideoIds() {
+            return videoIds;
+        }
+
+        public boolean isModified() {
+            return modified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -1,63 +1,141 @@
 package com.VSong.service;
 
+import com.VSong.dto.ShuffledSongsPage;
 import com.VSong.entity.VtuberSongsEntity;
-import com.VSong.repository.VtuberRepository;
 import com.VSong.repository.VtuberSongsRepository;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class SongService {
 
+    private static final int MAX_SHUFFLE_PAGE_SIZE = 100;
+    private static final int SCAN_SLACK = 4; // 페이지당 살펴볼 위치 수 = 페이지 크기 * (영역 / ID 수) * SCAN_SLACK
+    private static final long MAX_SCAN_PER_PAGE = 1L << 18;
+
     private final VtuberSongsRepository vtuberSongsRepository;
-    private final VtuberRepository vtuberRepository;
+    private final RandomSongSampler randomSongSampler;
 
-    public SongService(VtuberSongsRepository vtuberSongsRepository, VtuberRepository vtuberRepository) {
+    public SongService(VtuberSongsRepository vtuberSongsRepository, RandomSongSampler randomSongSampler) {
         this.vtuberSongsRepository = vtuberSongsRepository;
-        this.vtuberRepository = vtuberRepository;
+        this.randomSongSampler = randomSongSampler;
     }
 
     public List<VtuberSongsEntity> getRandomVideoSongs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        List<VtuberSongsEntity> randomSongs = vtuberSongsRepository.findRandomSongsByClassification("videos", pageable);
-        System.out.println("Fetched random songs: " + randomSongs.size());
-        return randomSongs;
+        return getRandomSongs("videos", limit, null);
     }
 
     public List<VtuberSongsEntity> getRandomShortsSongs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return vtuberSongsRepository.findRandomSongsByClassification("shorts", pageable);
+        return getRandomSongs("shorts", limit, null);
     }
 
     // gender 필터링 적용된 메서드 추가
     public List<VtuberSongsEntity> getRandomVideoSongs(int limit, String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
-        }
-        Pageable pageable = PageRequest.of(0, limit);
-        return vtuberSongsRepository.findRandomSongsByChannelIdsAndClassification(channelIds, "videos", pageable);
+        return getRandomSongs("videos", limit, gender);
     }
 
     public List<VtuberSongsEntity> getRandomShortsSongs(int limit, String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
+        return getRandomSongs("shorts", limit, gender);
+    }
+
+    // 샘플러에서 뽑은 ID만 기본 키로 조회하고, 뽑힌 순서대로 돌려줌
+    private List<VtuberSongsEntity> getRandomSongs(String classification, int limit, String gender) {
+        long[] ids = randomSongSampler.sample(classification, normalizeGender(gender), limit);
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        return findAllByIdInOrder(idList);
+    }
+
+    /**
+     * seed로 정해지는 순열을 따라 노래를 중복 없이 페이지 단위로 돌려줍니다.
+     * cursor는 "seed:maxId:position" 형식이며 서버는 세션 상태를 저장하지 않습니다. 첫 요청은 cursor 없이 보내면 됩니다.
+     * 순열은 배열 위치가 아니라 세션 시작 시의 ID 범위 [0, maxId]를 대상으로 하므로, 노래가 추가되거나 삭제되어도
+     * 순서가 바뀌지 않고 이미 본 노래가 다시 나오지 않습니다. 없어진 ID는 건너뛰고, maxId보다 큰 새 노래는 해당 세션에서 나오지 않습니다.
+     * @throws IllegalArgumentException 형식이 잘못된 cursor, 또는 cursor와 다른 seed
+     */
+    public ShuffledSongsPage getShuffledSongsPage(String classification, String gender, Long seed, String cursor, int limit) {
+        long[] ids = randomSongSampler.ids(classification, normalizeGender(gender)); // id 오름차순
+        int pageSize = Math.max(1, Math.min(limit, MAX_SHUFFLE_PAGE_SIZE));
+
+        long sessionSeed;
+        long maxId;
+        long position;
+        if (cursor == null || cursor.isEmpty()) {
+            sessionSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            maxId = ids.length > 0 ? ids[ids.length - 1] : -1;
+            position = 0;
+        } else {
+            String[] parts = cursor.split(":", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor parameter: " + cursor);
+            }
+            try {
+                sessionSeed = Long.parseLong(parts[0]);
+                maxId = Long.parseLong(parts[1]);
+                position = Long.parseLong(parts[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor parameter: " + cursor);
+            }
+            if (maxId < 0 || position < 0 || FeistelPermutation.bitsFor(maxId + 1) > 62) {
+                throw new IllegalArgumentException("Invalid cursor parameter: " + cursor);
+            }
+            if (seed != null && seed != sessionSeed) {
+                throw new IllegalArgumentException("seed does not match cursor: " + seed);
+            }
+        }
+        if (maxId < 0) {
+            return new ShuffledSongsPage(List.of(), sessionSeed, null);
+        }
+
+        // 순열 값이 현재 ID 배열에 없으면(삭제, 다른 성별, 원래 비어 있던 ID) 건너뜀.
+        // 한 요청에서 살펴볼 위치 수는 ID가 차지하는 비율에 맞춰 늘리되 상한을 둠 (빈 페이지여도 nextCursor로 이어서 요청)
+        FeistelPermutation permutation = new FeistelPermutation(FeistelPermutation.bitsFor(maxId + 1), sessionSeed);
+        long domainSize = permutation.getDomainSize();
+        long stride = Math.max(1, domainSize / Math.max(1, ids.length));
+        long scanBudget = Math.min(MAX_SCAN_PER_PAGE, (long) pageSize * stride * SCAN_SLACK);
+        long scanEnd = Math.min(domainSize, position + scanBudget);
+        List<Long> pageIds = new ArrayList<>(pageSize);
+        while (position < scanEnd && pageIds.size() < pageSize) {
+            long id = permutation.apply(position++);
+            if (id <= maxId && Arrays.binarySearch(ids, id) >= 0) {
+                pageIds.add(id);
+            }
+        }
+
+        String nextCursor = position < domainSize ? sessionSeed + ":" + maxId + ":" + position : null;
+        return new ShuffledSongsPage(findAllByIdInOrder(pageIds), sessionSeed, nextCursor);
+    }
+
+    private List<VtuberSongsEntity> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, VtuberSongsEntity> songsById = new HashMap<>();
+        for (VtuberSongsEntity song : vtuberSongsRepository.findAllById(ids)) {
+            songsById.put(song.getId(), song);
+        }
+        List<VtuberSongsEntity> songs = new ArrayList<>(songsById.size());
+        for (Long id : ids) {
+            VtuberSongsEntity song = songsById.get(id);
+            if (song != null) {
+                songs.add(song);
+            }
         }
-        Pageable pageable = PageRequest.of(0, limit);
-        return vtuberSongsRepository.findRandomSongsByChannelIdsAndClassification(channelIds, "shorts", pageable);
+        return songs;
     }
 
-    private List<String> getChannelIdsByGender(String gender) {
+    // vtuber_songs.gender 값으로 변환. 전체 조회는 null
+    private String normalizeGender(String gender) {
         if (gender == null || gender.equalsIgnoreCase("all")) {
-            return vtuberRepository.findAllChannelIds();
-        } else if (gender.equalsIgnoreCase("male") || gender.equalsIgnoreCase("female")) {
-            return vtuberRepository.findChannelIdsByGender(gender.toLowerCase());
-        } else if (gender.equalsIgnoreCase("mixed")) { // null 값의 경우 'mixed'로 간주
-            return vtuberRepository.findChannelIdsWithNullGender();
+            return null;
+        } else if (gender.equalsIgnoreCase("male") || gender.equalsIgnoreCase("female")
+                || gender.equalsIgnoreCase("mixed")) { // 성별이 null인 버튜버의 노래는 'mixed'로 저장됨
+            return gender.toLowerCase();
         } else {
             throw new IllegalArgumentException("Invalid gender parameter: " + gender);
         }
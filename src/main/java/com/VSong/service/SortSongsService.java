@@ -2,7 +2,6 @@ package com.VSong.service;
 
 import com.VSong.entity.VtuberSongsEntity;
 import com.VSong.repository.VtuberSongsRepository;
-import com.VSong.repository.VtuberRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,62 +10,58 @@ import java.util.List;
 public class SortSongsService {
 
     private final VtuberSongsRepository vtuberSongsRepository;
-    private final VtuberRepository vtuberRepository;
 
-    public SortSongsService(VtuberSongsRepository vtuberSongsRepository, VtuberRepository vtuberRepository) {
+    public SortSongsService(VtuberSongsRepository vtuberSongsRepository) {
         this.vtuberSongsRepository = vtuberSongsRepository;
-        this.vtuberRepository = vtuberRepository;
     }
 
     public List<VtuberSongsEntity> getTop10SongsByViewsIncreaseWeek(String gender) {
-        System.out.println("getTop10SongsByViewsIncreaseWeek called with gender: " + gender);
-        List<String> channelIds = getChannelIdsByGender(gender);
-        System.out.println("channelIds: " + channelIds);
-        if (channelIds.isEmpty()) {
-            return List.of();
-        }
-        return vtuberSongsRepository.findTop10ByViewsIncreaseWeekDescAndChannelIdsAndClassification(channelIds, "videos");
+        return getTop10ByViewsIncreaseWeek("videos", gender);
     }
 
     public List<VtuberSongsEntity> getTop10SongsByViewsIncreaseDay(String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
+        String normalizedGender = normalizeGender(gender);
+        if (normalizedGender == null) {
+            return vtuberSongsRepository.findTop10ByClassificationAndGenderIsNotNullOrderByViewsIncreaseDayDesc("videos");
         }
-        return vtuberSongsRepository.findTop10ByViewsIncreaseDayDescAndChannelIds(channelIds);
+        return vtuberSongsRepository.findTop10ByClassificationAndGenderOrderByViewsIncreaseDayDesc("videos", normalizedGender);
     }
 
     public List<VtuberSongsEntity> getTop9SongsByPublishedAt(String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
-        }
-        return vtuberSongsRepository.findTop9ByPublishedAtDescAndChannelIdsAndClassification(channelIds, "videos");
+        return getTop9ByPublishedAt("videos", gender);
     }
 
     public List<VtuberSongsEntity> getTop10ShortsByViewsIncreaseWeek(String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
-        }
-        return vtuberSongsRepository.findTop10ByViewsIncreaseWeekDescAndChannelIdsAndClassification(channelIds, "shorts");
+        return getTop10ByViewsIncreaseWeek("shorts", gender);
     }
 
     public List<VtuberSongsEntity> getTop9ShortsByPublishedAt(String gender) {
-        List<String> channelIds = getChannelIdsByGender(gender);
-        if (channelIds.isEmpty()) {
-            return List.of();
+        return getTop9ByPublishedAt("shorts", gender);
+    }
+
+    private List<VtuberSongsEntity> getTop10ByViewsIncreaseWeek(String classification, String gender) {
+        String normalizedGender = normalizeGender(gender);
+        if (normalizedGender == null) {
+            return vtuberSongsRepository.findTop10ByClassificationAndGenderIsNotNullOrderByViewsIncreaseWeekDesc(classification);
+        }
+        return vtuberSongsRepository.findTop10ByClassificationAndGenderOrderByViewsIncreaseWeekDesc(classification, normalizedGender);
+    }
+
+    private List<VtuberSongsEntity> getTop9ByPublishedAt(String classification, String gender) {
+        String normalizedGender = normalizeGender(gender);
+        if (normalizedGender == null) {
+            return vtuberSongsRepository.findTop9ByClassificationAndGenderIsNotNullOrderByPublishedAtDesc(classification);
         }
-        return vtuberSongsRepository.findTop9ByPublishedAtDescAndChannelIdsAndClassification(channelIds, "shorts");
+        return vtuberSongsRepository.findTop9ByClassificationAndGenderOrderByPublishedAtDesc(classification, normalizedGender);
     }
 
-    private List<String> getChannelIdsByGender(String gender) {
+    // vtuber_songs.gender 값으로 변환. 전체 조회는 null
+    private String normalizeGender(String gender) {
         if (gender == null || gender.equalsIgnoreCase("all")) {
-            return vtuberRepository.findAllChannelIds();
-        } else if (gender.equalsIgnoreCase("male") || gender.equalsIgnoreCase("female")) {
-            return vtuberRepository.findChannelIdsByGender(gender.toLowerCase());
-        } else if (gender.equalsIgnoreCase("mixed")) { // null 값의 경우 'mixed'로 간주
-            return vtuberRepository.findChannelIdsWithNullGender();
+            return null;
+        } else if (gender.equalsIgnoreCase("male") || gender.equalsIgnoreCase("female")
+                || gender.equalsIgnoreCase("mixed")) { // 성별이 null인 버튜버의 노래는 'mixed'로 저장됨
+            return gender.toLowerCase();
         } else {
             throw new IllegalArgumentException("Invalid gender parameter: " + gender);
         }
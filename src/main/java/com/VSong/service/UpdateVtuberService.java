@@ -1,20 +1,16 @@
 package com.VSong.service;
 
 import com.VSong.entity.VtuberEntity;
-import com.VSong.repository.ExceptVtuberRepository;
 import com.VSong.repository.VtuberRepository;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
 import com.google.api.services.youtube.model.ChannelListResponse;
-import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -29,30 +25,29 @@ public class UpdateVtuberService {
 
     private final YouTube youTube;
     private final VtuberRepository vtuberRepository;
-    private final ExceptVtuberRepository exceptVtuberRepository;
+    private final KnownChannelIndex knownChannelIndex;
     private final VtuberService vtuberService;
-    private final RateLimiter rateLimiter = RateLimiter.create(5.0);
+    private final YouTubeApiService youTubeApiService;
+    private final YouTubeResponseCache responseCache;
     private static final Logger logger = LoggerFactory.getLogger(UpdateVtuberService.class);
 
-    private final List<String> apiKeys;
-    private int currentKeyIndex = 0;
-
     public UpdateVtuberService(YouTube youTube,
                                VtuberRepository vtuberRepository,
-                               ExceptVtuberRepository exceptVtuberRepository,
+                               KnownChannelIndex knownChannelIndex,
                                VtuberService vtuberService,
-                               @Value("${youtube.api.keys}") String apiKeys) {
+                               YouTubeApiService youTubeApiService,
+                               YouTubeResponseCache responseCache) {
         this.youTube = youTube;
         this.vtuberRepository = vtuberRepository;
-        this.exceptVtuberRepository = exceptVtuberRepository;
+        this.knownChannelIndex = knownChannelIndex;
         this.vtuberService = vtuberService;
-        this.apiKeys = Arrays.stream(apiKeys.split(",")).map(String::trim).collect(Collectors.toList());
+        this.youTubeApiService = youTubeApiService;
+        this.responseCache = responseCache;
     }
 
     public void syncVtuberData(ThreadPoolExecutor executor) {
         List<String> dbChannelIds = vtuberRepository.findAllChannelIds();
-        Set<String> exceptChannelIds = new HashSet<>(exceptVtuberRepository.findAllChannelIds());
-        dbChannelIds.removeAll(exceptChannelIds);
+        dbChannelIds.removeIf(knownChannelIndex::isExcluded);
 
         logger.info("DB의 채널 {}개를 동기화합니다.", dbChannelIds.size());
 
@@ -60,6 +55,11 @@ public class UpdateVtuberService {
         List<Future<?>> futures = new ArrayList<>();
 
         List<List<String>> partitions = partitionList(dbChannelIds, 50);
+        // 일부 파티션만 조회되면 나머지는 삭제 판정 없이 유지될 뿐이므로, 전체를 감당할 수 없으면 이번 동기화를 건너뜀
+        if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.CHANNELS_LIST, partitions.size())) {
+            logger.warn("오늘 남은 API 할당량이 부족해 동기화를 건너뜁니다. (필요: {} 유닛)", partitions.size());
+            return;
+        }
         for (List<String> partition : partitions) {
             futures.add(executor.submit(() -> processSyncPartition(partition, existingApiChannelIds)));
         }
@@ -92,15 +92,18 @@ public class UpdateVtuberService {
             return;
         }
         try {
-            rateLimiter.acquire();
-
             YouTube.Channels.List request = youTube.channels().list(List.of("snippet", "statistics"));
             request.setId(channelIds);
-            request.setFields("items(id,snippet/title,snippet/description,snippet/thumbnails/default/url,statistics/subscriberCount)");
-            request.setKey(getCurrentApiKey());
-
-            ChannelListResponse response = request.execute();
-            List<Channel> channels = response.getItems();
+            request.setFields(YouTubeFields.CHANNEL_SYNC);
+
+            // 파티션 구성이 지난 동기화와 같고 어떤 채널도 바뀌지 않았다면 304로 본문 없이 끝남
+            String cacheKey = "channels.list:" + YouTubeFields.CHANNEL_SYNC + ":" + String.join(",", channelIds);
+            YouTubeResponseCache.Result<ChannelListResponse> result =
+                    responseCache.execute(cacheKey, YouTubeApiService.Endpoint.CHANNELS_LIST, request);
+            if (result.isNotModified()) {
+                logger.debug("파티션 채널 {}개 변경 없음 (304)", channelIds.size());
+            }
+            List<Channel> channels = result.getResponse().getItems();
 
             if (channels == null) {
                 logger.warn("API 응답이 null입니다. 파티션의 채널 {}개를 삭제 방지를 위해 유지합니다.", channelIds.size());
@@ -118,7 +121,14 @@ public class UpdateVtuberService {
                             return new VtuberEntity();
                         });
 
+                // 리소스 ETag가 저장된 값과 같으면 내용이 그대로이므로 저장 생략
+                if (channel.getEtag() != null && channel.getEtag().equals(vtuber.getEtag())
+                        && "existing".equals(vtuber.getStatus())) {
+                    continue;
+                }
+
                 vtuber.setChannelId(channelId);
+                vtuber.setEtag(channel.getEtag());
                 vtuber.setName(channel.getSnippet().getTitle());
                 vtuber.setDescription(truncateDescription(channel.getSnippet().getDescription()));
                 vtuber.setSubscribers(channel.getStatistics().getSubscriberCount());
@@ -128,11 +138,11 @@ public class UpdateVtuberService {
                 vtuber.setStatus("existing");
 
                 vtuberRepository.save(vtuber);
+                knownChannelIndex.addVtuber(channelId);
             }
         } catch (Exception e) {
             logger.error("채널 데이터 동기화 처리 중 오류 발생하여 해당 파티션의 채널 {}개를 삭제 방지를 위해 유지합니다. 오류: {}", channelIds.size(), e.getMessage());
             existingApiChannelIds.addAll(channelIds);
-            rotateApiKey();
         }
     }
 
@@ -150,17 +160,4 @@ public class UpdateVtuberService {
         }
         return partitions;
     }
-
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
-    }
-
-    private synchronized void rotateApiKey() {
-        if (apiKeys.size() <= 1) {
-            logger.error("API 키가 하나뿐이라 교체할 수 없습니다. 할당량 문제를 확인하세요.");
-            return;
-        }
-        currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-        logger.warn("API 키를 다음 키로 전환했습니다. (인덱스: {})", currentKeyIndex);
-    }
-}
\ No newline at end of file
+}
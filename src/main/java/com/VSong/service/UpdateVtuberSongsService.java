@@ -3,18 +3,24 @@ package com.VSong.service;
 import com.VSong.entity.VtuberEntity;
 import com.VSong.entity.VtuberSongsEntity;
 import com.VSong.repository.VtuberRepository;
+import com.VSong.repository.VtuberSongsBulkRepository;
 import com.VSong.repository.VtuberSongsRepository;
-import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.*;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 @Service
@@ -23,27 +29,37 @@ public class UpdateVtuberSongsService {
     private final YouTube youTube;
     private final VtuberRepository vtuberRepository;
     private final VtuberSongsRepository vtuberSongsRepository;
+    private final VtuberSongsBulkRepository vtuberSongsBulkRepository;
     private final VtuberValidationService validationService; // 검증 서비스 주입
-    private final List<String> apiKeys;
-    private final List<Boolean> keyUsage;
-    private int currentKeyIndex = 0;
+    private final RssFeedPoller rssFeedPoller;
+    private final YouTubeBatchLoader youTubeBatchLoader;
+    private final YouTubeApiService youTubeApiService;
+    private final UploadsPlaylistCrawler uploadsPlaylistCrawler;
+    private static final int MAX_IDS_PER_REQUEST = 50; // videos.list 1회 호출당 최대 ID 수
     private static final Logger logger = Logger.getLogger(UpdateVtuberSongsService.class.getName());
 
+    @Value("${view-count.chunk-size:1000}")
+    private int viewCountChunkSize;
+
     public UpdateVtuberSongsService(
             YouTube youTube,
             VtuberRepository vtuberRepository,
             VtuberSongsRepository vtuberSongsRepository,
+            VtuberSongsBulkRepository vtuberSongsBulkRepository,
             VtuberValidationService validationService, // 생성자에 추가
-            @Value("${youtube.api.keys}") List<String> apiKeys) {
+            RssFeedPoller rssFeedPoller,
+            YouTubeBatchLoader youTubeBatchLoader,
+            YouTubeApiService youTubeApiService,
+            UploadsPlaylistCrawler uploadsPlaylistCrawler) {
         this.youTube = youTube;
         this.vtuberRepository = vtuberRepository;
         this.vtuberSongsRepository = vtuberSongsRepository;
+        this.vtuberSongsBulkRepository = vtuberSongsBulkRepository;
         this.validationService = validationService; // 초기화
-        this.apiKeys = new ArrayList<>(apiKeys);
-        this.keyUsage = new ArrayList<>(apiKeys.size());
-        for (int i = 0; i < apiKeys.size(); i++) {
-            this.keyUsage.add(true);
-        }
+        this.rssFeedPoller = rssFeedPoller;
+        this.youTubeBatchLoader = youTubeBatchLoader;
+        this.youTubeApiService = youTubeApiService;
+        this.uploadsPlaylistCrawler = uploadsPlaylistCrawler;
     }
 
     public void fetchVtuberSongs() {
@@ -57,18 +73,17 @@ public class UpdateVtuberSongsService {
 
         for (VtuberEntity vtuber : newVtubers) {
             logger.info("새로운 Vtuber 처리 시작: " + vtuber.getName());
-            fetchAllSongsFromPlaylist(vtuber.getChannelId(), vtuber.getName());
+            if (!fetchAllSongsFromPlaylist(vtuber)) {
+                // 수집이 중단된 채널은 new 상태로 남겨 다음 실행에서 저장된 페이지 토큰부터 재개
+                logger.warning("새로운 Vtuber 수집 중단, 다음 실행에서 재개: " + vtuber.getName());
+                continue;
+            }
             vtuber.setStatus("existing");
             vtuberRepository.save(vtuber);
             logger.info("새로운 Vtuber 처리 완료: " + vtuber.getName());
         }
 
-        Instant threeDaysAgoInstant = LocalDateTime.now().minusDays(3).toInstant(ZoneOffset.UTC);
-        for (VtuberEntity vtuber : existingVtubers) {
-            logger.info("기존 Vtuber 최근 노래 검색 시작: " + vtuber.getName());
-            fetchRecentSongsFromSearch(vtuber.getChannelId(), vtuber.getName(), threeDaysAgoInstant);
-            logger.info("기존 Vtuber 최근 노래 검색 완료: " + vtuber.getName());
-        }
+        fetchRecentSongsFromFeeds(existingVtubers);
 
         logger.info("=== fetchVtuberSongs 실행 종료 ===");
     }
@@ -79,71 +94,127 @@ public class UpdateVtuberSongsService {
         newSongs.forEach(song -> {
             song.setStatus("existing");
             song.setUpdateDayTime(LocalDateTime.now()); // 상태 변경 시간을 기록
-            vtuberSongsRepository.save(song);
         });
+        vtuberSongsRepository.saveAll(newSongs);
 
         logger.info("Updated " + newSongs.size() + " songs from 'new' to 'existing'.");
     }
 
     public void updateViewCounts() {
-        resetKeyUsage();
-        List<VtuberSongsEntity> songs = vtuberSongsRepository.findAll();
-        for (VtuberSongsEntity song : songs) {
-            long newViewCount = fetchViewCount(song.getVideoId());
+        // 청크마다 별도의 짧은 영속성 컨텍스트에서 조회/저장하므로 카탈로그 크기와 무관하게 메모리 사용량이 일정함
+        long lastId = 0L;
+        int processed = 0;
+        List<VtuberSongsEntity> chunk;
+        do {
+            chunk = vtuberSongsRepository.findNextChunk(lastId, PageRequest.of(0, viewCountChunkSize));
+            if (chunk.isEmpty()) break;
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            for (int i = 0; i < chunk.size(); i += MAX_IDS_PER_REQUEST) {
+                if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.VIDEOS_LIST)) {
+                    logger.warning("오늘 남은 API 할당량이 없어 조회수 업데이트를 중단합니다. (처리된 노래 수: " + processed + ")");
+                    return;
+                }
+                List<VtuberSongsEntity> batch = chunk.subList(i, Math.min(i + MAX_IDS_PER_REQUEST, chunk.size()));
+                updateViewCountBatch(batch);
+            }
+            processed += chunk.size();
+        } while (chunk.size() == viewCountChunkSize);
+        logger.info("조회수 업데이트 및 삭제된 동영상 제거 완료 (처리된 노래 수: " + processed + ")");
+    }
 
-            if (newViewCount == 0) {
+    private void updateViewCountBatch(List<VtuberSongsEntity> batch) {
+        List<String> videoIds = new ArrayList<>(batch.size());
+        for (VtuberSongsEntity song : batch) {
+            videoIds.add(song.getVideoId());
+        }
+
+        Map<String, Long> viewCounts = fetchViewCounts(videoIds);
+        if (viewCounts == null) {
+            // 조회 실패 시 삭제로 오인하지 않도록 배치 전체를 건너뜀
+            return;
+        }
+
+        List<VtuberSongsEntity> deletedSongs = new ArrayList<>();
+        List<VtuberSongsEntity> updatedSongs = new ArrayList<>();
+        for (VtuberSongsEntity song : batch) {
+            if (!viewCounts.containsKey(song.getVideoId())) {
                 logger.info("삭제된 동영상 감지: " + song.getTitle() + " (" + song.getVideoId() + ")");
-                vtuberSongsRepository.delete(song);
+                deletedSongs.add(song);
                 continue;
             }
 
-            if (newViewCount > 0) {
-                long viewIncreaseDay = newViewCount - song.getViewCount();
-                song.setViewCount(newViewCount);
-                song.setViewsIncreaseDay(viewIncreaseDay);
-                song.setUpdateDayTime(LocalDateTime.now());
-
-                if (LocalDateTime.now().getDayOfWeek() == DayOfWeek.MONDAY) {
-                    long viewIncreaseWeek = newViewCount - song.getLastWeekViewCount();
-                    song.setViewsIncreaseWeek(viewIncreaseWeek);
-                    song.setLastWeekViewCount(newViewCount);
-                    song.setUpdateWeekTime(LocalDateTime.now());
-                }
-                vtuberSongsRepository.save(song);
+            Long newViewCount = viewCounts.get(song.getVideoId());
+            if (newViewCount == null) {
+                continue; // 조회수 비공개 동영상
+            }
+
+            long viewIncreaseDay = newViewCount - song.getViewCount();
+            song.setViewCount(newViewCount);
+            song.setViewsIncreaseDay(viewIncreaseDay);
+            song.setUpdateDayTime(LocalDateTime.now());
+
+            if (LocalDateTime.now().getDayOfWeek() == DayOfWeek.MONDAY) {
+                long viewIncreaseWeek = newViewCount - song.getLastWeekViewCount();
+                song.setViewsIncreaseWeek(viewIncreaseWeek);
+                song.setLastWeekViewCount(newViewCount);
+                song.setUpdateWeekTime(LocalDateTime.now());
             }
+            updatedSongs.add(song);
         }
-        logger.info("조회수 업데이트 및 삭제된 동영상 제거 완료");
+
+        if (!deletedSongs.isEmpty()) {
+            vtuberSongsRepository.deleteAllByIdInBatch(deletedSongs.stream().map(VtuberSongsEntity::getId).toList());
+        }
+        vtuberSongsBulkRepository.updateStatistics(updatedSongs);
     }
 
-    private void fetchAndProcessVideos(List<String> videoIds, String channelName) {
-        if (videoIds == null || videoIds.isEmpty()) return;
+    private boolean fetchAndProcessVideos(List<String> videoIds, String channelName) {
+        List<String> unknownVideoIds = filterUnknownVideoIds(videoIds, channelName);
+        if (unknownVideoIds.isEmpty()) return true;
 
         try {
-            YouTube.Videos.List videosRequest = youTube.videos().list(List.of("id", "snippet", "contentDetails", "statistics"));
-            videosRequest.setId(videoIds);
-            videosRequest.setKey(apiKeys.get(currentKeyIndex));
-
-            VideoListResponse videoResponse = videosRequest.execute();
-            List<Video> videos = videoResponse.getItems();
-
-            for (Video video : videos) {
-                if (validationService.isSongRelated(video)) {
-                    String classification = validationService.classifyVideo(video);
-                    if ("ignore".equals(classification)) continue;
-
-                    if (!validationService.isSongAlreadyExists(video.getId())) {
-                        logger.info("노래로 판단된 동영상 (저장): " + video.getSnippet().getTitle() + " (" + video.getId() + ")");
-                        saveNewSong(video, channelName, classification);
-                    } else {
-                        logger.info("이미 존재하는 노래 (건너뜀): " + video.getSnippet().getTitle());
-                    }
-                } else {
-                    // No log for filtered videos as per user request
-                }
-            }
+            processVideos(youTubeBatchLoader.getVideos(unknownVideoIds).values(), channelName);
+            return true;
         } catch (IOException e) {
             logger.severe("IOException while fetching video details for " + channelName + ": " + e.getMessage());
-            switchApiKey();
+            return false;
+        }
+    }
+
+    // 이미 저장된 동영상은 한 번의 쿼리로 걸러내고 상세 조회도 생략
+    private List<String> filterUnknownVideoIds(List<String> videoIds, String channelName) {
+        if (videoIds == null || videoIds.isEmpty()) return new ArrayList<>();
+
+        Set<String> existingVideoIds = validationService.findExistingVideoIds(videoIds);
+        List<String> unknownVideoIds = new ArrayList<>();
+        for (String videoId : videoIds) {
+            if (!existingVideoIds.contains(videoId)) {
+                unknownVideoIds.add(videoId);
+            }
+        }
+        if (!existingVideoIds.isEmpty()) {
+            logger.info("이미 존재하는 노래 " + existingVideoIds.size() + "개 건너뜀 (" + channelName + ")");
+        }
+        return unknownVideoIds;
+    }
+
+    private void processVideos(Collection<Video> videos, String channelName) {
+        List<VtuberSongsEntity> newSongs = new ArrayList<>();
+        for (Video video : videos) {
+            if (validationService.isSongRelated(video)) {
+                String classification = validationService.classifyVideo(video);
+                if ("ignore".equals(classification)) continue;
+
+                logger.info("노래로 판단된 동영상 (저장): " + video.getSnippet().getTitle() + " (" + video.getId() + ")");
+                newSongs.add(toSongEntity(video, channelName, classification));
+            } else {
+                // No log for filtered videos as per user request
+            }
+        }
+        if (!newSongs.isEmpty()) {
+            vtuberSongsBulkRepository.insertSongs(newSongs);
+            logger.info("노래 저장 완료: " + newSongs.size() + "곡 (" + channelName + ")");
         }
     }
 
@@ -161,7 +232,7 @@ public class UpdateVtuberSongsService {
         fetchAndProcessVideos(videoIds, channelName); // 로직 재사용
     }
 
-    private void saveNewSong(Video video, String channelName, String classification) {
+    private VtuberSongsEntity toSongEntity(Video video, String channelName, String classification) {
         VtuberSongsEntity song = new VtuberSongsEntity();
         song.setChannelId(video.getSnippet().getChannelId());
         song.setVideoId(video.getId());
@@ -177,144 +248,105 @@ public class UpdateVtuberSongsService {
         song.setLastWeekViewCount(0L);
         song.setStatus("new");
         song.setClassification(classification);
-
-        vtuberSongsRepository.save(song);
-        logger.info("노래 저장 완료: " + song.getTitle());
+        return song;
     }
     
-    // --- Helper and private methods for API calls, key rotation etc. ---
-    // These methods remain largely the same.
-
-    private void fetchAllSongsFromPlaylist(String channelId, String channelName) {
+    // --- Helper and private methods for API calls ---
+
+    /**
+     * 업로드 재생목록 전체를 수집합니다. 재개와 워터마크 처리는 UploadsPlaylistCrawler가 담당합니다.
+     * @return 재생목록 끝(또는 워터마크)까지 수집을 마쳤으면 true
+     */
+    private boolean fetchAllSongsFromPlaylist(VtuberEntity vtuber) {
+        String channelId = vtuber.getChannelId();
+        String channelName = vtuber.getName();
         logger.info("채널 [" + channelName + "]에서 모든 노래를 가져옵니다. 채널 ID: " + channelId);
         try {
             String uploadsPlaylistId = getUploadsPlaylistId(channelId);
             if (uploadsPlaylistId == null) {
                 logger.severe("Uploads playlist not found for channel ID: " + channelId);
-                return;
+                return true;
             }
-            String pageToken = null;
-            do {
-                YouTube.PlaylistItems.List playlistItemsRequest = youTube.playlistItems().list(List.of("contentDetails", "snippet"));
-                playlistItemsRequest.setPlaylistId(uploadsPlaylistId);
-                playlistItemsRequest.setMaxResults(50L);
-                playlistItemsRequest.setPageToken(pageToken);
-                playlistItemsRequest.setKey(apiKeys.get(currentKeyIndex));
-
-                PlaylistItemListResponse playlistItemResult = executeRequestWithRetry(() -> playlistItemsRequest.execute());
-                List<PlaylistItem> playlistItems = playlistItemResult.getItems();
-
-
-                List<String> videoIds = new ArrayList<>();
-                for (PlaylistItem item : playlistItems) {
-                    videoIds.add(item.getContentDetails().getVideoId());
-                }
-                fetchAndProcessVideos(videoIds, channelName);
-                pageToken = playlistItemResult.getNextPageToken();
-            } while (pageToken != null);
+            return uploadsPlaylistCrawler.crawl(vtuber, uploadsPlaylistId,
+                    () -> youTubeApiService.canAfford(YouTubeApiService.Endpoint.PLAYLIST_ITEMS_LIST),
+                    videoIds -> fetchAndProcessVideos(videoIds, channelName));
         } catch (Exception e) {
-            handleApiException(e, channelName, channelId);
+            logger.severe("API 호출 중 오류 발생 - 채널명: " + channelName + ", 채널 ID: " + channelId + " - 오류 메시지: " + e.getMessage());
+            return false;
         }
     }
 
     private String getUploadsPlaylistId(String channelId) throws IOException {
-        YouTube.Channels.List channelRequest = youTube.channels().list(List.of("contentDetails"));
-        channelRequest.setId(List.of(channelId));
-        channelRequest.setKey(apiKeys.get(currentKeyIndex));
-        ChannelListResponse channelResult = channelRequest.execute();
-        List<Channel> channelsList = channelResult.getItems();
-        if (channelsList != null && !channelsList.isEmpty()) {
-            return channelsList.get(0).getContentDetails().getRelatedPlaylists().getUploads();
+        Channel channel = youTubeBatchLoader.getChannel(channelId);
+        if (channel != null && channel.getContentDetails() != null) {
+            return channel.getContentDetails().getRelatedPlaylists().getUploads();
         }
         return null;
     }
 
-    private void fetchRecentSongsFromSearch(String channelId, String channelName, Instant publishedAfterInstant) {
-        String rssUrl = "https://www.youtube.com/feeds/videos.xml?channel_id=" + channelId;
-        logger.info("Fetching recent videos from RSS feed for " + channelName);
-
-        try {
-            org.jsoup.nodes.Document doc = org.jsoup.Jsoup.connect(rssUrl).timeout(10000).get();
-            org.jsoup.select.Elements entries = doc.select("entry");
-
-            if (entries.isEmpty()) {
-                logger.info("No video entries found in RSS feed for " + channelName);
-                return;
-            }
+    private void fetchRecentSongsFromFeeds(List<VtuberEntity> existingVtubers) {
+        logger.info("기존 Vtuber " + existingVtubers.size() + "명의 RSS 피드 조회 시작");
+        List<RssFeedPoller.FeedResult> feeds = rssFeedPoller.poll(existingVtubers);
 
-            List<String> videoIds = new ArrayList<>();
-            for (org.jsoup.nodes.Element entry : entries) {
-                String videoId = entry.select("yt|videoId").first().text();
-                videoIds.add(videoId);
-            }
+        // 모든 피드의 동영상 ID를 먼저 요청해 채널 간에 50개 단위로 묶인 videos.list 호출이 되도록 함
+        Map<RssFeedPoller.FeedResult, CompletableFuture<Map<String, Video>>> pendingVideos = new LinkedHashMap<>();
+        for (RssFeedPoller.FeedResult feed : feeds) {
+            if (!feed.isModified()) continue;
+            List<String> unknownVideoIds = filterUnknownVideoIds(feed.getVideoIds(), feed.getVtuber().getName());
+            pendingVideos.put(feed, youTubeBatchLoader.videosAsync(unknownVideoIds));
+        }
 
-            if (!videoIds.isEmpty()) {
-                logger.info("Found " + videoIds.size() + " recent videos from RSS for " + channelName + ". Processing...");
-                fetchAndProcessVideos(videoIds, channelName);
+        List<VtuberEntity> validatorsChanged = new ArrayList<>();
+        for (Map.Entry<RssFeedPoller.FeedResult, CompletableFuture<Map<String, Video>>> entry : pendingVideos.entrySet()) {
+            RssFeedPoller.FeedResult feed = entry.getKey();
+            VtuberEntity vtuber = feed.getVtuber();
+            try {
+                Map<String, Video> videos = YouTubeBatchLoader.await(entry.getValue());
+                if (!videos.isEmpty()) {
+                    logger.info("Found " + videos.size() + " new videos from RSS for " + vtuber.getName() + ". Processing...");
+                    processVideos(videos.values(), vtuber.getName());
+                }
+            } catch (IOException e) {
+                // 처리하지 못한 피드는 검증값을 갱신하지 않아 다음 실행에서 다시 받음
+                logger.severe("IOException while fetching video details for " + vtuber.getName() + ": " + e.getMessage());
+                continue;
             }
-        } catch (Exception e) {
-            logger.severe("Failed to fetch or parse RSS feed for " + channelName + ": " + e.getMessage());
+            vtuber.setFeedEtag(feed.getEtag());
+            vtuber.setFeedLastModified(feed.getLastModified());
+            validatorsChanged.add(vtuber);
         }
+        vtuberRepository.saveAll(validatorsChanged);
+        logger.info("기존 Vtuber RSS 피드 처리 완료 - 변경된 피드: " + validatorsChanged.size() + "개");
     }
 
-    private long fetchViewCount(String videoId) {
+    /**
+     * 최대 50개의 videoId 조회수를 한 번의 videos.list 호출로 가져옵니다.
+     * 응답에 없는 videoId는 삭제(또는 비공개)된 동영상이므로 결과 Map에 포함되지 않습니다.
+     * @return videoId → 조회수(조회수 비공개 시 null), API 호출 실패 시 null
+     */
+    private Map<String, Long> fetchViewCounts(List<String> videoIds) {
         try {
             YouTube.Videos.List request = youTube.videos().list(List.of("statistics"));
-            request.setId(List.of(videoId));
-            request.setKey(apiKeys.get(currentKeyIndex));
-            var response = executeRequestWithRetry(() -> request.execute());
-            if (!response.getItems().isEmpty()) {
-                return response.getItems().get(0).getStatistics().getViewCount().longValue();
+            request.setId(videoIds);
+            request.setFields(YouTubeFields.VIDEO_VIEW_COUNTS);
+            VideoListResponse response = youTubeApiService.execute(YouTubeApiService.Endpoint.VIDEOS_LIST, apiKey -> {
+                request.setKey(apiKey);
+                return request.execute();
+            });
+
+            Map<String, Long> viewCounts = new HashMap<>();
+            if (response.getItems() != null) {
+                for (Video video : response.getItems()) {
+                    VideoStatistics statistics = video.getStatistics();
+                    Long viewCount = statistics != null && statistics.getViewCount() != null
+                            ? statistics.getViewCount().longValue() : null;
+                    viewCounts.put(video.getId(), viewCount);
+                }
             }
+            return viewCounts;
         } catch (IOException e) {
             logger.severe("Failed to fetch view counts: " + e.getMessage());
-            switchApiKey();
         }
-        return 0;
-    }
-
-    private void switchApiKey() {
-        int initialKeyIndex = currentKeyIndex;
-        do {
-            currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-            if (keyUsage.get(currentKeyIndex)) {
-                logger.info("API 키 전환: " + apiKeys.get(currentKeyIndex));
-                return;
-            }
-        } while (currentKeyIndex != initialKeyIndex);
-        throw new RuntimeException("모든 API 키의 할당량이 소진되었습니다.");
-    }
-
-    private void resetKeyUsage() {
-        for (int i = 0; i < keyUsage.size(); i++) {
-            keyUsage.set(i, true);
-        }
-    }
-
-    private void handleApiException(Exception e, String channelName, String channelId) {
-        logger.severe("API 호출 중 오류 발생 - 채널명: " + channelName + ", 채널 ID: " + channelId + " - 오류 메시지: " + e.getMessage());
-        keyUsage.set(currentKeyIndex, false);
-        switchApiKey();
-    }
-
-    private <T> T executeRequestWithRetry(Callable<T> apiCall) throws IOException {
-        int attempts = 0;
-        while (attempts < apiKeys.size()) {
-            try {
-                return apiCall.call();
-            } catch (GoogleJsonResponseException e) {
-                if (e.getDetails() != null && "quotaExceeded".equals(e.getDetails().getErrors().get(0).getReason())) {
-                    logger.warning("API 쿼터 소진. 다음 키로 전환하여 재시도합니다.");
-                    keyUsage.set(currentKeyIndex, false);
-                    switchApiKey();
-                    attempts++;
-                } else {
-                    throw e;
-                }
-            } catch (Exception e) {
-                throw new IOException("API 호출 중 예상치 못한 오류 발생", e);
-            }
-        }
-        throw new IOException("모든 API 키의 쿼터를 소진하여 더 이상 작업을 진행할 수 없습니다.");
+        return null;
     }
 }
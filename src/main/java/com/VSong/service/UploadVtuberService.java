@@ -9,22 +9,21 @@ import com.google.api.services.youtube.model.SearchListResponse;
 import com.google.api.services.youtube.model.SearchResult;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.RateLimiter;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,8 +32,9 @@ public class UploadVtuberService {
     private final YouTube youTube;
     private final VtuberRepository vtuberRepository;
     private final VtuberValidationService validationService;
-    private final List<String> apiKeys;
-    private int currentKeyIndex = 0;
+    private final YouTubeBatchLoader youTubeBatchLoader;
+    private final YouTubeApiService youTubeApiService;
+    private final KnownChannelIndex knownChannelIndex;
     private final List<String> queries = Arrays.asList(
             "버튜버", "Vtuber", "버츄얼 유튜버", "버츄버",
             "이세계아이돌", "V-LUP", "RE:REVOLUTION", "VRECORD", "V&U", "일루전 라이브",
@@ -48,28 +48,28 @@ public class UploadVtuberService {
     );
     private static final Logger logger = LoggerFactory.getLogger(UploadVtuberService.class);
     private static final int MAX_PAGES_PER_QUERY = 3;
-    private static final int MAX_QUOTA_PER_KEY = 10000;
+    private static final int MAX_IDS_PER_REQUEST = 50;
 
     private final Cache<String, Boolean> processedCache = CacheBuilder.newBuilder()
             .expireAfterWrite(24, TimeUnit.HOURS)
             .build();
 
-    private final List<AtomicInteger> apiKeyUsage;
-    private final RateLimiter rateLimiter = RateLimiter.create(5.0);
     private final Counter searchApiCounter;
     private final Counter channelsApiCounter;
 
     public UploadVtuberService(YouTube youTube,
                                VtuberRepository vtuberRepository,
                                VtuberValidationService validationService,
-                               @Value("${youtube.api.keys}") String apiKeys,
+                               YouTubeBatchLoader youTubeBatchLoader,
+                               YouTubeApiService youTubeApiService,
+                               KnownChannelIndex knownChannelIndex,
                                MeterRegistry meterRegistry) {
         this.youTube = youTube;
         this.vtuberRepository = vtuberRepository;
         this.validationService = validationService;
-        this.apiKeys = Arrays.stream(apiKeys.split(",")).map(String::trim).collect(Collectors.toList());
-        this.apiKeyUsage = this.apiKeys.stream().map(key -> new AtomicInteger(0)).collect(Collectors.toList());
-        logger.info("API 키 {}개 로드 완료", this.apiKeys.size());
+        this.youTubeBatchLoader = youTubeBatchLoader;
+        this.youTubeApiService = youTubeApiService;
+        this.knownChannelIndex = knownChannelIndex;
         this.searchApiCounter = meterRegistry.counter("youtube.api.search");
         this.channelsApiCounter = meterRegistry.counter("youtube.api.channels");
     }
@@ -77,6 +77,7 @@ public class UploadVtuberService {
     public void fetchAndSaveVtuberChannels() {
         logger.info("=== fetchAndSaveVtuberChannels 시작 ===");
         ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(5);
+        queryLoop:
         for (String query : queries) {
             logger.info("쿼리 실행: {}", query);
             String pageToken = null;
@@ -86,23 +87,28 @@ public class UploadVtuberService {
                     logger.info("쿼리 '{}'에 대해 최대 페이지 수를 초과했습니다.", query);
                     break;
                 }
+                if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.SEARCH_LIST)) {
+                    logger.warn("오늘 남은 API 할당량이 부족해 채널 검색을 중단합니다.");
+                    break queryLoop;
+                }
                 pagesFetched++;
                 try {
-                    rateLimiter.acquire();
                     YouTube.Search.List search = youTube.search().list(List.of("id"));
                     search.setQ(query);
                     search.setType(List.of("channel"));
-                    search.setFields("nextPageToken,items(id/channelId)");
+                    search.setFields(YouTubeFields.SEARCH_CHANNEL_IDS);
                     search.setMaxResults(50L);
-                    search.setKey(getCurrentApiKey());
                     search.setPageToken(pageToken);
-                    incrementApiKeyUsage();
                     searchApiCounter.increment();
-                    SearchListResponse searchResponse = search.execute();
-                    List<String> channelIds = searchResponse.getItems().stream()
+                    SearchListResponse searchResponse = youTubeApiService.execute(YouTubeApiService.Endpoint.SEARCH_LIST, apiKey -> {
+                        search.setKey(apiKey);
+                        return search.execute();
+                    });
+                    // 이미 저장되었거나 제외된 채널은 channels.list 조회 없이 건너뜀
+                    List<String> channelIds = knownChannelIndex.filterUnknown(searchResponse.getItems().stream()
                             .map(result -> result.getId().getChannelId())
                             .filter(channelId -> processedCache.getIfPresent(channelId) == null)
-                            .collect(Collectors.toList());
+                            .collect(Collectors.toList()));
                     if (!channelIds.isEmpty()) {
                         List<List<String>> partitions = partitionList(channelIds, 50);
                         for (List<String> partition : partitions) {
@@ -115,7 +121,6 @@ public class UploadVtuberService {
                     pageToken = searchResponse.getNextPageToken();
                 } catch (IOException e) {
                     logger.error("API 호출 중 오류 발생: {}", e.getMessage());
-                    rotateApiKey();
                 }
             } while (pageToken != null);
         }
@@ -133,6 +138,7 @@ public class UploadVtuberService {
     public List<String> fetchAllChannelIdsFromApi() {
         logger.info("=== fetchAllChannelIdsFromApi 시작 ===");
         List<String> allChannelIds = new java.util.ArrayList<>();
+        queryLoop:
         for (String query : queries) {
             logger.info("ID 수집 쿼리 실행: {}", query);
             String pageToken = null;
@@ -142,26 +148,29 @@ public class UploadVtuberService {
                     logger.info("쿼리 '{}'에 대해 최대 페이지 수를 초과했습니다.", query);
                     break;
                 }
+                if (!youTubeApiService.canAfford(YouTubeApiService.Endpoint.SEARCH_LIST)) {
+                    logger.warn("오늘 남은 API 할당량이 부족해 채널 ID 수집을 중단합니다.");
+                    break queryLoop;
+                }
                 pagesFetched++;
                 try {
-                    rateLimiter.acquire();
                     YouTube.Search.List search = youTube.search().list(List.of("id"));
                     search.setQ(query);
                     search.setType(List.of("channel"));
-                    search.setFields("nextPageToken,items(id/channelId)");
+                    search.setFields(YouTubeFields.SEARCH_CHANNEL_IDS);
                     search.setMaxResults(50L);
-                    search.setKey(getCurrentApiKey());
                     search.setPageToken(pageToken);
-                    incrementApiKeyUsage();
                     searchApiCounter.increment();
-                    SearchListResponse searchResponse = search.execute();
+                    SearchListResponse searchResponse = youTubeApiService.execute(YouTubeApiService.Endpoint.SEARCH_LIST, apiKey -> {
+                        search.setKey(apiKey);
+                        return search.execute();
+                    });
                     allChannelIds.addAll(searchResponse.getItems().stream()
                             .map(result -> result.getId().getChannelId())
                             .collect(Collectors.toList()));
                     pageToken = searchResponse.getNextPageToken();
                 } catch (IOException e) {
                     logger.error("API 호출 중 오류 발생: {}", e.getMessage());
-                    rotateApiKey();
                 }
             } while (pageToken != null);
         }
@@ -172,14 +181,14 @@ public class UploadVtuberService {
     private void processChannels(List<String> channelIds) {
         logger.debug("processChannels 시작 - 채널 ID 개수: {}", channelIds.size());
         try {
-            rateLimiter.acquire();
             YouTube.Channels.List channelRequest = youTube.channels().list(List.of("snippet", "statistics"));
             channelRequest.setId(channelIds);
-            channelRequest.setFields("items(id,snippet/title,snippet/description,snippet/thumbnails/default/url,statistics/subscriberCount)");
-            channelRequest.setKey(getCurrentApiKey());
-            incrementApiKeyUsage();
+            channelRequest.setFields(YouTubeFields.CHANNEL_PROFILE);
             channelsApiCounter.increment();
-            ChannelListResponse channelResponse = channelRequest.execute();
+            ChannelListResponse channelResponse = youTubeApiService.execute(YouTubeApiService.Endpoint.CHANNELS_LIST, apiKey -> {
+                channelRequest.setKey(apiKey);
+                return channelRequest.execute();
+            });
             if (channelResponse.getItems() == null) return;
 
             for (Channel channel : channelResponse.getItems()) {
@@ -213,27 +222,11 @@ public class UploadVtuberService {
                 }
                 vtuber.setStatus("new");
                 vtuberRepository.save(vtuber);
+                knownChannelIndex.addVtuber(channelId);
                 logger.info("새로운 VTuber 저장: {} (ID: {})", vtuber.getName(), channelId);
             }
         } catch (IOException e) {
             logger.error("채널 처리 중 API 오류 발생: {}", e.getMessage());
-            rotateApiKey();
-        }
-    }
-
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
-    }
-
-    private synchronized void rotateApiKey() {
-        if (apiKeys.size() == 1) throw new RuntimeException("모든 API 키의 할당량이 소진되었습니다.");
-        currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-        logger.warn("API 키를 다음 키로 전환했습니다.");
-    }
-
-    private void incrementApiKeyUsage() {
-        if (apiKeyUsage.get(currentKeyIndex).incrementAndGet() >= MAX_QUOTA_PER_KEY) {
-            rotateApiKey();
         }
     }
 
@@ -241,16 +234,29 @@ public class UploadVtuberService {
         List<VtuberEntity> vtubersWithMissingImages = vtuberRepository.findByChannelImgIsNull();
         if (vtubersWithMissingImages.isEmpty()) return;
         logger.info("프로필 이미지가 없는 VTuber 수: {}", vtubersWithMissingImages.size());
-        for (VtuberEntity vtuber : vtubersWithMissingImages) {
-            executor.submit(() -> {
-                String imageUrl = fetchChannelProfileImage(vtuber.getChannelId());
+        executor.submit(() -> {
+            // 모든 채널 ID를 한 번에 요청해 50개 단위 channels.list 호출로 묶음
+            List<String> channelIds = vtubersWithMissingImages.stream().map(VtuberEntity::getChannelId).collect(Collectors.toList());
+            Map<String, Channel> channels;
+            try {
+                channels = youTubeBatchLoader.getChannels(channelIds);
+            } catch (IOException e) {
+                logger.warn("프로필 이미지 가져오기 실패 - 채널 {}개 - 오류: {}", channelIds.size(), e.getMessage());
+                return;
+            }
+            channelsApiCounter.increment((channelIds.size() + MAX_IDS_PER_REQUEST - 1) / MAX_IDS_PER_REQUEST);
+
+            List<VtuberEntity> updated = new ArrayList<>();
+            for (VtuberEntity vtuber : vtubersWithMissingImages) {
+                String imageUrl = profileImageUrl(channels.get(vtuber.getChannelId()));
                 if (imageUrl != null && !imageUrl.isEmpty()) {
                     vtuber.setChannelImg(imageUrl);
-                    vtuberRepository.save(vtuber);
+                    updated.add(vtuber);
                     logger.info("프로필 이미지 업데이트 완료: {}", vtuber.getName());
                 }
-            });
-        }
+            }
+            vtuberRepository.saveAll(updated);
+        });
     }
 
     private List<List<String>> partitionList(List<String> list, int size) {
@@ -261,23 +267,11 @@ public class UploadVtuberService {
         return partitions;
     }
 
-    private String fetchChannelProfileImage(String channelId) {
-        try {
-            rateLimiter.acquire();
-            YouTube.Channels.List channelsList = youTube.channels().list(List.of("snippet"));
-            channelsList.setId(List.of(channelId));
-            channelsList.setKey(getCurrentApiKey());
-            channelsList.setFields("items(snippet/thumbnails/default/url)");
-            incrementApiKeyUsage();
-            channelsApiCounter.increment();
-            ChannelListResponse response = channelsList.execute();
-            if (!response.getItems().isEmpty() && response.getItems().get(0).getSnippet().getThumbnails() != null) {
-                return response.getItems().get(0).getSnippet().getThumbnails().getDefault().getUrl();
-            }
-        } catch (Exception e) {
-            logger.warn("프로필 이미지 가져오기 실패 - 채널 ID: {} - 오류: {}", channelId, e.getMessage());
-            rotateApiKey();
+    private String profileImageUrl(Channel channel) {
+        if (channel == null || channel.getSnippet() == null || channel.getSnippet().getThumbnails() == null
+                || channel.getSnippet().getThumbnails().getDefault() == null) {
+            return null;
         }
-        return null;
+        return channel.getSnippet().getThumbnails().getDefault().getUrl();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.VSong.service;
+
+import com.VSong.entity.VtuberEntity;
+import com.VSong.repository.VtuberRepository;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.PlaylistItem;
+import com.google.api.services.youtube.model.PlaylistItemListResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 채널 업로드 재생목록을 최신순으로 페이지 단위 수집하는 공통 루프 (FirstUploadService, UpdateVtuberSongsService 공용).
+ * 페이지 처리가 성공해야 다음 페이지 토큰을 저장하므로, 할당량 소진이나 장애로 멈추면 실패한 페이지부터 재개합니다.
+ * 워터마크(latestVideoPublishedAt)는 마지막으로 끝까지 수집한 시점의 최신 업로드 시각이며,
+ * 수집을 마쳤을 때만 갱신하므로 중간에 끊긴 증분 수집도 재개 시 같은 워터마크에서 멈춥니다.
+ */
+@Component
+public class UploadsPlaylistCrawler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadsPlaylistCrawler.class);
+
+    private final YouTube youTube;
+    private final YouTubeApiService youTubeApiService;
+    private final VtuberRepository vtuberRepository;
+
+    public UploadsPlaylistCrawler(YouTube youTube, YouTubeApiService youTubeApiService, VtuberRepository vtuberRepository) {
+        this.youTube = youTube;
+        this.youTubeApiService = youTubeApiService;
+        this.vtuberRepository = vtuberRepository;
+    }
+
+    @FunctionalInterface
+    public interface PageHandler {
+        /**
+         * 한 페이지의 동영상 ID를 처리합니다.
+         * @return 처리에 실패해 같은 페이지부터 다시 수집해야 하면 false
+         */
+        boolean handle(List<String> videoIds);
+    }
+
+    /**
+     * 저장된 페이지 토큰부터 재생목록 끝이나 워터마크까지 수집합니다.
+     * @param canContinue 페이지마다 호출 전에 확인하는 할당량 조건
+     * @return 끝(또는 워터마크)까지 수집을 마쳤으면 true, 중간에 멈췄으면 false
+     * @throws IOException 재생목록 조회 실패 (잘못된 페이지 토큰은 토큰을 지우고 false 반환)
+     */
+    public boolean crawl(VtuberEntity vtuber, String uploadsPlaylistId, BooleanSupplier canContinue, PageHandler handler)
+            throws IOException {
+        String pageToken = vtuber.getLastProcessedPageToken();
+        LocalDateTime watermark = vtuber.getLatestVideoPublishedAt();
+        LocalDateTime newestSeen = null;
+        if (pageToken != null) {
+            logger.info("중단된 수집 재개: {} (페이지 토큰: {})", vtuber.getName(), pageToken);
+        }
+
+        while (true) {
+            if (!canContinue.getAsBoolean()) {
+                logger.warn("남은 API 할당량이 없어 수집을 중단합니다: {}", vtuber.getName());
+                return false;
+            }
+
+            PlaylistItemListResponse response;
+            try {
+                response = fetchPage(uploadsPlaylistId, pageToken);
+            } catch (HttpResponseException e) {
+                if (pageToken != null && (e.getStatusCode() == 400 || e.getStatusCode() == 404)) {
+                    // 만료되었거나 거부된 토큰에 묶이지 않도록 지우고 다음 실행에서 처음부터 수집
+                    logger.warn("페이지 토큰이 거부되어 초기화합니다: {} (HTTP {})", vtuber.getName(), e.getStatusCode());
+                    saveProgress(vtuber, null);
+                    return false;
+                }
+                throw e;
+            }
+
+            List<PlaylistItem> playlistItems = response.getItems();
+            if (playlistItems == null || playlistItems.isEmpty()) {
+                break;
+            }
+            newestSeen = later(newestSeen, newestPublishedAt(playlistItems));
+
+            List<String> videoIds = new ArrayList<>(playlistItems.size());
+            for (PlaylistItem item : playlistItems) {
+                videoIds.add(item.getContentDetails().getVideoId());
+            }
+            if (!handler.handle(videoIds)) {
+                // 토큰을 앞으로 옮기지 않아 다음 실행에서 이 페이지를 다시 처리
+                logger.warn("페이지 처리 실패, 현재 위치에서 수집을 중단합니다: {}", vtuber.getName());
+                return false;
+            }
+
+            String nextPageToken = response.getNextPageToken();
+            if (nextPageToken == null) {
+                break;
+            }
+            if (watermark != null && isPageBeforeWatermark(playlistItems, watermark)) {
+                logger.info("워터마크 이전 페이지 도달, 수집 중단: {}", vtuber.getName());
+                break;
+            }
+            pageToken = nextPageToken;
+            saveProgress(vtuber, pageToken);
+        }
+
+        // 수집을 마쳤을 때만 토큰을 지우고 워터마크를 올림
+        vtuber.setLatestVideoPublishedAt(later(watermark, newestSeen));
+        saveProgress(vtuber, null);
+        return true;
+    }
+
+    private PlaylistItemListResponse fetchPage(String uploadsPlaylistId, String pageToken) throws IOException {
+        YouTube.PlaylistItems.List request = youTube.playlistItems().list(List.of("contentDetails"));
+        request.setPlaylistId(uploadsPlaylistId);
+        request.setFields(YouTubeFields.PLAYLIST_VIDEO_IDS);
+        request.setMaxResults(50L);
+        request.setPageToken(pageToken);
+        return youTubeApiService.execute(YouTubeApiService.Endpoint.PLAYLIST_ITEMS_LIST, apiKey -> {
+            request.setKey(apiKey);
+            return request.execute();
+        });
+    }
+
+    private void saveProgress(VtuberEntity vtuber, String pageToken) {
+        vtuber.setLastProcessedPageToken(pageToken);
+        vtuberRepository.save(vtuber);
+    }
+
+    static LocalDateTime newestPublishedAt(List<PlaylistItem> playlistItems) {
+        LocalDateTime newest = null;
+        for (PlaylistItem item : playlistItems) {
+            newest = later(newest, videoPublishedAt(item));
+        }
+        return newest;
+    }
+
+    // 게시 시각을 알 수 있는 항목이 모두 워터마크 이전이면 이미 수집한 구간
+    static boolean isPageBeforeWatermark(List<PlaylistItem> playlistItems, LocalDateTime watermark) {
+        boolean anyDated = false;
+        for (PlaylistItem item : playlistItems) {
+            LocalDateTime publishedAt = videoPublishedAt(item);
+            if (publishedAt == null) continue;
+            anyDated = true;
+            if (publishedAt.isAfter(watermark)) return false;
+        }
+        return anyDated;
+    }
+
+    static LocalDateTime videoPublishedAt(PlaylistItem item) {
+        if (item.getContentDetails() == null || item.getContentDetails().getVideoPublishedAt() == null) {
+            return null;
+        }
+        return Instant.ofEpochMilli(item.getContentDetails().getVideoPublishedAt().getValue())
+                .atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return b.isAfter(a) ? b : a;
+    }
+}
@@ -7,6 +7,8 @@ import com.VSong.repository.VtuberSongsRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.transaction.Transactional;
 import java.util.*;
@@ -15,11 +17,16 @@ import java.util.*;
 public class VtuberService {
     private final VtuberRepository vtuberRepository;
     private final VtuberSongsRepository vtuberSongsRepository;
+    private final KnownChannelIndex knownChannelIndex;
+    private final MainPageSnapshotService mainPageSnapshotService;
     private static final Logger logger = LoggerFactory.getLogger(VtuberService.class);
 
-    public VtuberService(VtuberRepository vtuberRepository, VtuberSongsRepository vtuberSongsRepository) {
+    public VtuberService(VtuberRepository vtuberRepository, VtuberSongsRepository vtuberSongsRepository,
+                         KnownChannelIndex knownChannelIndex, MainPageSnapshotService mainPageSnapshotService) {
         this.vtuberRepository = vtuberRepository;
         this.vtuberSongsRepository = vtuberSongsRepository;
+        this.knownChannelIndex = knownChannelIndex;
+        this.mainPageSnapshotService = mainPageSnapshotService;
     }
 
     public VtuberEntity createVtuber(String description, String gender) {
@@ -85,6 +92,47 @@ public class VtuberService {
         return vtuberSongsRepository.findByChannelId(channelId);
     }
 
+    /**
+     * 버튜버 성별을 바꾸고 vtuber_songs의 비정규화 컬럼도 같은 트랜잭션에서 갱신합니다.
+     * gender는 male, female, mixed 또는 빈 값(mixed와 같음)만 허용합니다.
+     * @throws IllegalArgumentException 허용하지 않는 gender 값
+     */
+    @Transactional
+    public boolean updateGender(String channelId, String gender) {
+        String normalizedGender = normalizeStoredGender(gender);
+        Optional<VtuberEntity> vtuber = vtuberRepository.findByChannelId(channelId);
+        if (vtuber.isEmpty()) {
+            return false;
+        }
+        vtuber.get().setGender(normalizedGender);
+        vtuberRepository.save(vtuber.get());
+        int updated = vtuberSongsRepository.updateGenderByChannelId(channelId, normalizedGender != null ? normalizedGender : "mixed");
+        logger.info("채널 {} 성별을 {}(으)로 변경, 노래 {}개 갱신", channelId, normalizedGender, updated);
+        // 커밋 전에 다시 읽으면 이전 데이터가 보이므로 커밋 후에 메인 페이지 스냅샷과 랜덤 샘플러 갱신을 요청
+        runAfterCommit(mainPageSnapshotService::requestRefresh);
+        return true;
+    }
+
+    // vtubers.gender 값으로 변환. mixed와 빈 값은 null로 저장
+    private static String normalizeStoredGender(String gender) {
+        if (gender == null || gender.isBlank() || gender.equalsIgnoreCase("mixed")) {
+            return null;
+        } else if (gender.equalsIgnoreCase("male") || gender.equalsIgnoreCase("female")) {
+            return gender.toLowerCase();
+        } else {
+            throw new IllegalArgumentException("Invalid gender parameter: " + gender);
+        }
+    }
+
+    /**
+     * vtubers.gender와 어긋난 vtuber_songs.gender를 맞춥니다. DB에서 직접 수정한 경우와 기존 데이터 채우기에 사용합니다.
+     */
+    public int reconcileSongGenders() {
+        int updated = vtuberSongsRepository.reconcileGender();
+        logger.info("vtuber_songs 성별 동기화 완료 - 갱신: {}개", updated);
+        return updated;
+    }
+
     @Transactional
     public void deleteVtuberAndRelatedSongs(String channelId) {
         vtuberSongsRepository.deleteByChannelId(channelId);
@@ -92,5 +140,24 @@ public class VtuberService {
 
         vtuberRepository.deleteByChannelId(channelId);
         logger.info("vtubers 테이블에서 채널 ID {} 삭제 완료", channelId);
+        // 롤백되면 색인이 DB와 어긋나므로 색인에서 빼는 것도 스냅샷/샘플러 갱신 요청과 함께 커밋 후에 수행
+        runAfterCommit(() -> {
+            knownChannelIndex.removeVtuber(channelId);
+            mainPageSnapshotService.requestRefresh();
+        });
+    }
+
+    // 트랜잭션이 없으면 바로 실행
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
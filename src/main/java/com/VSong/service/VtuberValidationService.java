@@ -1,12 +1,14 @@
 package com.VSong.service;
 
-import com.VSong.repository.ExceptVtuberRepository;
-import com.VSong.repository.VtuberRepository;
 import com.VSong.repository.VtuberSongsRepository;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
-import com.google.api.services.youtube.model.SearchListResponse;
+import com.google.api.services.youtube.model.PlaylistItem;
+import com.google.api.services.youtube.model.PlaylistItemListResponse;
 import com.google.api.services.youtube.model.Video;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,8 +17,14 @@ import org.springframework.stereotype.Service;
 import java.math.BigInteger;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class VtuberValidationService {
@@ -41,24 +49,34 @@ public class VtuberValidationService {
             "클립", "넷플릭스", "게이머", "팬 채널", "게임방송", "리뷰", "예술", "Fashion",
             "자기관리", "예능", "희극인", "장애인", "실물"
     );
+    private static final List<String> CONTENT_PATTERNS = Arrays.asList(
+            "잡담", "방송", "게임", "노래", "singing", "stream",
+            "첫방", "데뷔방", "콜라보", "collaboration", "잡담방",
+            "방송시작", "live", "라이브", "스트림"
+    );
     private static final List<String> PRIORITY_KEYWORDS = Arrays.asList(
             "버츄얼 유튜버", "버튜버", "V-Youtuber", "버츄얼 유튜버"
     );
+    private static final List<String> DIRECT_VTUBER_KEYWORDS = List.of("버튜버", "Vtuber", "VTuber");
+    private static final List<String> DESCRIPTION_SONG_KEYWORDS = Arrays.asList(
+            "lyrics", "가사", "작곡", "편곡", "믹싱", "mastering", "vocal",
+            "spotify", "melon", "apple music"
+    );
 
-    private final List<String> avatarKeywords = Arrays.asList(
+    private static final List<String> AVATAR_KEYWORDS = Arrays.asList(
             "아바타", "캐릭터", "모델", "Live2D", "3D", "MMD",
             "가상", "버츄얼", "virtual", "avatar", "character",
             "리깅", "rigging", "모션캡처", "motion capture", "VRM"
     );
 
-    private final List<String> activityKeywords = Arrays.asList(
+    private static final List<String> ACTIVITY_KEYWORDS = Arrays.asList(
             "데뷔", "debut", "첫방송", "방송시작", "신인",
             "소속", "기획사", "컴퍼니", "엔터", "프로덕션",
             "잡담", "방송", "노래", "singing", "stream",
             "첫방", "데뷔방", "콜라보", "collaboration"
     );
 
-    private final List<String> vtuberCompanies = Arrays.asList(
+    private static final List<String> VTUBER_COMPANIES = Arrays.asList(
             "이세계아이돌", "V-LUP", "RE:REVOLUTION", "VRECORD", "V&U", "일루전 라이브",
             "버츄얼 헤르츠", "V-llage", "레븐", "스타게이저", "싸이코드", "PLAVE", "러브다이아",
             "미츄", "스텔라이브", "뻐스시간", "스타데이즈", "블루점프", "팔레트", "AkaiV Studio",
@@ -69,30 +87,78 @@ public class VtuberValidationService {
             "HANAVI", "UR:L", "Priz", "브이퍼리", "크로아", "하데스", "ACAXIA."
     );
 
-    private final VtuberRepository vtuberRepository;
-    private final ExceptVtuberRepository exceptVtuberRepository;
+    enum KeywordCategory {
+        PRIORITY, EXCLUDE_TITLE, EXCLUDE_DESCRIPTION, DIRECT_VTUBER,
+        AVATAR, ACTIVITY, COMPANY, CONTENT_PATTERN,
+        SONG_EXCLUDE_TITLE, SONG_EXCLUDE_DESCRIPTION, SONG_TITLE, SONG_DESCRIPTION
+    }
+
+    // 원문 그대로 비교하는 키워드 (채널 판별의 우선/제외/버튜버 키워드)
+    private final KeywordMatcher<KeywordCategory> caseSensitiveMatcher;
+    // 소문자로 바꾼 텍스트와 비교하는 키워드. 노래 판별용 목록은 기존 동작대로 키워드를 소문자로 바꾸지 않음
+    private final KeywordMatcher<KeywordCategory> lowerCaseMatcher;
+
+    private final KnownChannelIndex knownChannelIndex;
     private final VtuberSongsRepository vtuberSongsRepository;
     private final YouTube youTube;
-    private final List<String> apiKeys;
-    private int currentKeyIndex = 0;
+    private final YouTubeApiService youTubeApiService;
+    private final Cache<String, Boolean> contentPatternCache;
 
-    public VtuberValidationService(VtuberRepository vtuberRepository,
-                                     ExceptVtuberRepository exceptVtuberRepository,
+    public VtuberValidationService(KnownChannelIndex knownChannelIndex,
                                      VtuberSongsRepository vtuberSongsRepository,
                                      YouTube youTube,
-                                     @Value("${youtube.api.keys}") String apiKeys) {
-        this.vtuberRepository = vtuberRepository;
-        this.exceptVtuberRepository = exceptVtuberRepository;
+                                     YouTubeApiService youTubeApiService,
+                                     @Value("${validation.content-pattern-ttl-hours:168}") long contentPatternTtlHours) {
+        this.knownChannelIndex = knownChannelIndex;
         this.vtuberSongsRepository = vtuberSongsRepository;
         this.youTube = youTube;
-        this.apiKeys = Arrays.asList(apiKeys.split(","));
+        this.youTubeApiService = youTubeApiService;
+        this.contentPatternCache = CacheBuilder.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(contentPatternTtlHours, TimeUnit.HOURS)
+                .build();
+        this.caseSensitiveMatcher = buildMatcher(caseSensitiveKeywords());
+        this.lowerCaseMatcher = buildMatcher(lowerCaseKeywords());
+    }
+
+    // 카테고리별 키워드 목록. 매처 생성과 KeywordMatcherBenchmark(src/jmh)가 같은 목록을 사용
+    static Map<KeywordCategory, List<String>> caseSensitiveKeywords() {
+        Map<KeywordCategory, List<String>> keywords = new EnumMap<>(KeywordCategory.class);
+        keywords.put(KeywordCategory.PRIORITY, PRIORITY_KEYWORDS);
+        keywords.put(KeywordCategory.EXCLUDE_TITLE, EXCLUDE_TITLE_KEYWORDS);
+        keywords.put(KeywordCategory.EXCLUDE_DESCRIPTION, EXCLUDE_DESCRIPTION_KEYWORDS);
+        keywords.put(KeywordCategory.DIRECT_VTUBER, DIRECT_VTUBER_KEYWORDS);
+        return keywords;
+    }
+
+    static Map<KeywordCategory, List<String>> lowerCaseKeywords() {
+        Map<KeywordCategory, List<String>> keywords = new EnumMap<>(KeywordCategory.class);
+        keywords.put(KeywordCategory.AVATAR, lowerCase(AVATAR_KEYWORDS));
+        keywords.put(KeywordCategory.ACTIVITY, lowerCase(ACTIVITY_KEYWORDS));
+        keywords.put(KeywordCategory.COMPANY, lowerCase(VTUBER_COMPANIES));
+        keywords.put(KeywordCategory.CONTENT_PATTERN, CONTENT_PATTERNS);
+        keywords.put(KeywordCategory.SONG_EXCLUDE_TITLE, EXCLUDE_TITLE_KEYWORDS);
+        keywords.put(KeywordCategory.SONG_EXCLUDE_DESCRIPTION, EXCLUDE_DESCRIPTION_KEYWORDS);
+        keywords.put(KeywordCategory.SONG_TITLE, SONG_KEYWORDS);
+        keywords.put(KeywordCategory.SONG_DESCRIPTION, DESCRIPTION_SONG_KEYWORDS);
+        return keywords;
+    }
+
+    static KeywordMatcher<KeywordCategory> buildMatcher(Map<KeywordCategory, List<String>> keywords) {
+        KeywordMatcher.Builder<KeywordCategory> builder = KeywordMatcher.builder(KeywordCategory.class);
+        keywords.forEach(builder::add);
+        return builder.build();
+    }
+
+    private static List<String> lowerCase(List<String> keywords) {
+        return keywords.stream().map(String::toLowerCase).toList();
     }
 
     public String getChannelProcessableReason(String channelId) {
-        if (exceptVtuberRepository.existsByChannelId(channelId)) {
+        if (knownChannelIndex.isExcluded(channelId)) {
             return "제외 목록에 포함된 채널";
         }
-        if (vtuberRepository.existsByChannelId(channelId)) {
+        if (knownChannelIndex.isVtuber(channelId)) {
             return "이미 DB에 존재하는 채널";
         }
         return null;
@@ -107,34 +173,37 @@ public class VtuberValidationService {
             return "구독자 수 미달 (" + channel.getStatistics().getSubscriberCount() + ")";
         }
 
-        boolean containsKoreanInTitle = title.matches(".*[ㄱ-ㅎㅏ-ㅣ가-힣]+.*");
-        boolean containsKoreanInDescription = description != null && description.matches(".*[ㄱ-ㅎㅏ-ㅣ가-힣]+.*");
-
-        if (!containsKoreanInTitle && !containsKoreanInDescription) {
+        if (!containsHangul(title) && !containsHangul(description)) {
             return "한국어 없음";
         }
 
-        boolean containsPriorityKeyword = PRIORITY_KEYWORDS.stream().anyMatch(keyword ->
-                title.contains(keyword) || (description != null && description.contains(keyword))
-        );
+        KeywordMatcher.Result<KeywordCategory> titleMatches = caseSensitiveMatcher.scan(title);
+        KeywordMatcher.Result<KeywordCategory> descriptionMatches = caseSensitiveMatcher.scan(description);
+
+        boolean containsPriorityKeyword = titleMatches.contains(KeywordCategory.PRIORITY)
+                || descriptionMatches.contains(KeywordCategory.PRIORITY);
 
-        boolean containsExcludeKeywordsInTitle = EXCLUDE_TITLE_KEYWORDS.stream().anyMatch(title::contains);
-        boolean containsExcludeKeywordsInDescription = description != null &&
-                EXCLUDE_DESCRIPTION_KEYWORDS.stream().anyMatch(description::contains);
+        boolean containsExcludeKeywordsInTitle = titleMatches.contains(KeywordCategory.EXCLUDE_TITLE);
+        boolean containsExcludeKeywordsInDescription = descriptionMatches.contains(KeywordCategory.EXCLUDE_DESCRIPTION);
 
         if ((containsExcludeKeywordsInTitle || containsExcludeKeywordsInDescription) && !containsPriorityKeyword) {
             String matchedKeyword = containsExcludeKeywordsInTitle ?
-                    EXCLUDE_TITLE_KEYWORDS.stream().filter(title::contains).findFirst().orElse("?") :
-                    EXCLUDE_DESCRIPTION_KEYWORDS.stream().filter(description::contains).findFirst().orElse("?");
+                    titleMatches.firstMatch(KeywordCategory.EXCLUDE_TITLE) :
+                    descriptionMatches.firstMatch(KeywordCategory.EXCLUDE_DESCRIPTION);
             return "제외 키워드 포함: " + matchedKeyword;
         }
 
-        boolean hasVtuberKeyword = hasDirectVtuberKeyword(title, description);
-        boolean hasVisualCharacteristics = hasVtuberVisualCharacteristics(title, description);
-        boolean belongsToCompany = belongsToVtuberCompany(description);
-        boolean hasContentPattern = hasVtuberContentPattern(channelId);
+        KeywordMatcher.Result<KeywordCategory> lowerTitleMatches = lowerCaseMatcher.scan(title.toLowerCase());
+        KeywordMatcher.Result<KeywordCategory> lowerDescriptionMatches =
+                lowerCaseMatcher.scan(description != null ? description.toLowerCase() : null);
 
-        boolean isVtuber = hasVtuberKeyword || hasVisualCharacteristics || belongsToCompany || hasContentPattern || containsPriorityKeyword;
+        boolean hasVtuberKeyword = titleMatches.contains(KeywordCategory.DIRECT_VTUBER)
+                || descriptionMatches.contains(KeywordCategory.DIRECT_VTUBER);
+        boolean hasVisualCharacteristics = hasVtuberVisualCharacteristics(lowerTitleMatches, lowerDescriptionMatches);
+        boolean belongsToCompany = lowerDescriptionMatches.contains(KeywordCategory.COMPANY);
+        // 콘텐츠 패턴은 API 호출이 필요하므로 다른 신호가 모두 없을 때만 확인
+        boolean isVtuber = hasVtuberKeyword || hasVisualCharacteristics || belongsToCompany || containsPriorityKeyword
+                || hasVtuberContentPattern(channelId);
 
         if (isVtuber) {
             return null;
@@ -143,83 +212,74 @@ public class VtuberValidationService {
         }
     }
 
-    private boolean hasDirectVtuberKeyword(String title, String description) {
-        boolean containsVtuberInTitle = title.contains("버튜버") || title.contains("Vtuber") || title.contains("VTuber");
-        boolean containsVtuberInDescription = description != null &&
-                (description.contains("버튜버") || description.contains("Vtuber") || description.contains("VTuber"));
-        return containsVtuberInTitle || containsVtuberInDescription;
+    private boolean hasVtuberVisualCharacteristics(KeywordMatcher.Result<KeywordCategory> lowerTitleMatches,
+                                                   KeywordMatcher.Result<KeywordCategory> lowerDescriptionMatches) {
+        return lowerTitleMatches.contains(KeywordCategory.AVATAR) || lowerDescriptionMatches.contains(KeywordCategory.AVATAR)
+                || lowerTitleMatches.contains(KeywordCategory.ACTIVITY) || lowerDescriptionMatches.contains(KeywordCategory.ACTIVITY);
     }
 
-    private boolean hasVtuberVisualCharacteristics(String title, String description) {
-        boolean hasAvatarKeyword = avatarKeywords.stream().anyMatch(keyword ->
-                title.toLowerCase().contains(keyword.toLowerCase()) ||
-                        (description != null && description.toLowerCase().contains(keyword.toLowerCase()))
-        );
-        boolean hasActivityKeyword = activityKeywords.stream().anyMatch(keyword ->
-                title.toLowerCase().contains(keyword.toLowerCase()) ||
-                        (description != null && description.toLowerCase().contains(keyword.toLowerCase()))
-        );
-        return hasAvatarKeyword || hasActivityKeyword;
-    }
-
-    private boolean belongsToVtuberCompany(String description) {
-        if (description == null) return false;
-        return vtuberCompanies.stream()
-                .anyMatch(company -> description.toLowerCase().contains(company.toLowerCase()));
+    // ㄱ-ㅎ, ㅏ-ㅣ, 가-힣 범위의 문자가 하나라도 있는지 확인 (정규식 컴파일 없이 한 번 순회)
+    private static boolean containsHangul(String text) {
+        if (text == null) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '\u3131' && c <= '\u3163') || (c >= '\uAC00' && c <= '\uD7A3')) {
+                return true;
+            }
+        }
+        return false;
     }
 
+    /**
+     * 최근 업로드 10개의 제목에서 방송/노래 패턴을 셉니다.
+     * search.list(100 유닛) 대신 업로드 재생목록(UC → UU)을 playlistItems.list(1 유닛)로 읽고, 결과는 채널별로 TTL 동안 캐시합니다.
+     */
     private boolean hasVtuberContentPattern(String channelId) {
+        Boolean cached = contentPatternCache.getIfPresent(channelId);
+        if (cached != null) {
+            return cached;
+        }
+        if (!channelId.startsWith("UC") || !youTubeApiService.canAfford(YouTubeApiService.Endpoint.PLAYLIST_ITEMS_LIST)) {
+            return false;
+        }
         try {
-            YouTube.Search.List search = youTube.search().list(List.of("snippet"));
-            search.setChannelId(channelId);
-            search.setOrder("date");
-            search.setMaxResults(10L);
-            search.setType(List.of("video"));
-            search.setKey(getCurrentApiKey());
-
-            SearchListResponse response = search.execute();
-            if (response.getItems() == null || response.getItems().isEmpty()) {
-                return false;
+            YouTube.PlaylistItems.List request = youTube.playlistItems().list(List.of("snippet"));
+            request.setPlaylistId("UU" + channelId.substring(2));
+            request.setMaxResults(10L);
+            request.setFields(YouTubeFields.PLAYLIST_VIDEO_TITLES);
+
+            PlaylistItemListResponse response = youTubeApiService.execute(YouTubeApiService.Endpoint.PLAYLIST_ITEMS_LIST, apiKey -> {
+                request.setKey(apiKey);
+                return request.execute();
+            });
+            boolean result = countContentPatternMatches(response.getItems()) >= 3;
+            contentPatternCache.put(channelId, result);
+            return result;
+        } catch (HttpResponseException e) {
+            if (e.getStatusCode() == 404) {
+                // 업로드가 없는 채널은 재생목록이 없음
+                contentPatternCache.put(channelId, false);
+            } else {
+                logger.warn("채널 {} 콘텐츠 패턴 분석 실패: {}", channelId, e.getMessage());
             }
-
-            List<String> videoTitles = response.getItems().stream()
-                    .map(item -> item.getSnippet().getTitle())
-                    .collect(Collectors.toList());
-
-            List<String> vtuberPatterns = Arrays.asList(
-                    "잡담", "방송", "게임", "노래", "singing", "stream",
-                    "첫방", "데뷔방", "콜라보", "collaboration", "잡담방",
-                    "방송시작", "live", "라이브", "스트림"
-            );
-
-            long patternMatches = videoTitles.stream()
-                    .mapToLong(videoTitle -> vtuberPatterns.stream()
-                            .filter(pattern -> videoTitle.toLowerCase().contains(pattern.toLowerCase()))
-                            .count())
-                    .sum();
-
-            return patternMatches >= 3;
+            return false;
         } catch (Exception e) {
             logger.warn("채널 {} 콘텐츠 패턴 분석 실패: {}", channelId, e.getMessage());
-            rotateApiKey();
             return false;
         }
     }
 
-    private String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
-    }
-
-    private synchronized void rotateApiKey() {
-        currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-        logger.warn("API 키를 다음 키로 전환했습니다.");
+    private long countContentPatternMatches(List<PlaylistItem> items) {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        return items.stream()
+                .filter(item -> item.getSnippet() != null && item.getSnippet().getTitle() != null)
+                .map(item -> item.getSnippet().getTitle().toLowerCase())
+                .mapToLong(videoTitle -> lowerCaseMatcher.scan(videoTitle).count(KeywordCategory.CONTENT_PATTERN))
+                .sum();
     }
 
-    private static final List<String> DESCRIPTION_SONG_KEYWORDS = Arrays.asList(
-            "lyrics", "가사", "작곡", "편곡", "믹싱", "mastering", "vocal",
-            "spotify", "melon", "apple music"
-    );
-
     public boolean isSongRelated(Video video) {
         String title = video.getSnippet().getTitle();
         String lowerTitle = title.toLowerCase();
@@ -228,20 +288,23 @@ public class VtuberValidationService {
         String videoId = video.getId();
         String categoryId = video.getSnippet().getCategoryId();
 
-        boolean titleHasExcludeKeyword = EXCLUDE_TITLE_KEYWORDS.stream().anyMatch(lowerTitle::contains);
-        boolean descriptionHasExcludeKeyword = EXCLUDE_DESCRIPTION_KEYWORDS.stream().anyMatch(lowerDescription::contains);
+        KeywordMatcher.Result<KeywordCategory> titleMatches = lowerCaseMatcher.scan(lowerTitle);
+        KeywordMatcher.Result<KeywordCategory> descriptionMatches = lowerCaseMatcher.scan(lowerDescription);
+
+        boolean titleHasExcludeKeyword = titleMatches.contains(KeywordCategory.SONG_EXCLUDE_TITLE);
+        boolean descriptionHasExcludeKeyword = descriptionMatches.contains(KeywordCategory.SONG_EXCLUDE_DESCRIPTION);
         if (titleHasExcludeKeyword || descriptionHasExcludeKeyword) {
             return false;
         }
 
         java.util.List<String> reasons = new java.util.ArrayList<>();
 
-        String titleMatchedKeyword = SONG_KEYWORDS.stream().filter(lowerTitle::contains).findFirst().orElse(null);
+        String titleMatchedKeyword = titleMatches.firstMatch(KeywordCategory.SONG_TITLE);
         if (titleMatchedKeyword != null) {
             reasons.add("Title keyword: '" + titleMatchedKeyword + "'");
         }
 
-        String descriptionMatchedKeyword = DESCRIPTION_SONG_KEYWORDS.stream().filter(lowerDescription::contains).findFirst().orElse(null);
+        String descriptionMatchedKeyword = descriptionMatches.firstMatch(KeywordCategory.SONG_DESCRIPTION);
         if (descriptionMatchedKeyword != null) {
             reasons.add("Description keyword: '" + descriptionMatchedKeyword + "'");
         }
@@ -266,6 +329,16 @@ public class VtuberValidationService {
         return vtuberSongsRepository.existsByVideoId(videoId);
     }
 
+    /**
+     * 주어진 videoId 중 이미 DB에 저장된 것을 한 번의 쿼리로 조회합니다.
+     */
+    public Set<String> findExistingVideoIds(Collection<String> videoIds) {
+        if (videoIds == null || videoIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(vtuberSongsRepository.findExistingVideoIds(videoIds));
+    }
+
     public String classifyVideo(Video video) {
         String title = video.getSnippet().getTitle();
         String durationStr = video.getContentDetails().getDuration();
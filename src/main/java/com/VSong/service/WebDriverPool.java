@@ -0,0 +1,142 @@
+package com.VSong.service;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import jakarta.annotation.PreDestroy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 여러 배치에 걸쳐 재사용하는 헤드리스 Chrome 풀.
+ * 드라이버는 처음 필요할 때 만들어 최대 webdriver.pool-size개까지 유지하고,
+ * 오류가 난 드라이버나 webdriver.max-pages-per-driver 페이지를 넘긴 드라이버는 종료 후 새로 만듭니다.
+ * WebDriver는 스레드 안전하지 않으므로 한 번에 한 작업자만 드라이버를 빌려 씁니다.
+ */
+@Component
+public class WebDriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final int poolSize;
+    private final int maxPagesPerDriver;
+    private final BlockingQueue<PooledDriver> idle;
+    private final Semaphore permits;
+    private volatile boolean driverBinaryReady = false;
+    private volatile boolean closed = false;
+
+    public WebDriverPool(@Value("${webdriver.pool-size:3}") int poolSize,
+                         @Value("${webdriver.max-pages-per-driver:200}") int maxPagesPerDriver) {
+        this.poolSize = poolSize;
+        this.maxPagesPerDriver = maxPagesPerDriver;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(poolSize);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * 드라이버를 빌립니다. 모든 드라이버가 사용 중이면 반납될 때까지 기다립니다.
+     */
+    public PooledDriver borrow() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WebDriver 풀이 종료되었습니다.");
+        }
+        permits.acquire();
+        try {
+            PooledDriver pooled = idle.poll();
+            return pooled != null ? pooled : new PooledDriver(createDriver());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 드라이버를 반납합니다. healthy가 false이거나 사용 한도를 넘긴 드라이버는 종료합니다.
+     */
+    public void release(PooledDriver pooled, boolean healthy) {
+        try {
+            if (closed || !healthy || pooled.pagesLoaded >= maxPagesPerDriver || !isAlive(pooled.driver)) {
+                logger.debug("WebDriver 교체 - 로드한 페이지: {}, 정상 여부: {}", pooled.pagesLoaded, healthy);
+                quit(pooled.driver);
+            } else {
+                idle.offer(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idle.poll()) != null) {
+            quit(pooled.driver);
+        }
+    }
+
+    private WebDriver createDriver() {
+        // 드라이버 바이너리 확인은 최초 한 번만 수행
+        if (!driverBinaryReady) {
+            synchronized (this) {
+                if (!driverBinaryReady) {
+                    WebDriverManager.chromedriver().setup();
+                    driverBinaryReady = true;
+                }
+            }
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu",
+                "--remote-allow-origins=*", "--mute-audio", "--blink-settings=imagesEnabled=false");
+        logger.info("새 WebDriver 생성 (풀 크기: {})", poolSize);
+        return new ChromeDriver(options);
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("WebDriver 종료 중 오류", e);
+        }
+    }
+
+    public static class PooledDriver {
+        private final WebDriver driver;
+        private int pagesLoaded;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        // 페이지를 열 때마다 호출해 교체 시점을 계산
+        public WebDriver open(String url) {
+            pagesLoaded++;
+            driver.get(url);
+            return driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+    }
+}
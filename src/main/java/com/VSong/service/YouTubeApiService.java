@@ -1,92 +1,345 @@
 package com.VSong.service;
 
+import com.VSong.entity.YouTubeQuotaUsageEntity;
+import com.VSong.repository.YouTubeQuotaUsageRepository;
+import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
-import com.google.common.util.concurrent.RateLimiter;
+import com.google.api.client.http.HttpResponseException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * 모든 YouTube Data API 호출이 공유하는 API 키 풀.
+ * 엔드포인트별 실제 할당량 비용을 키에 원자적으로 청구하고, quotaExceeded 응답을 받은 키는 소진 처리한 뒤
+ * 다른 키로 재시도합니다. 락 없이 동작하므로 여러 작업/스레드가 동시에 같은 풀을 사용할 수 있습니다.
+ * 사용량은 youtube_quota_usage 테이블에도 누적되어 재시작 후에도 유지되며, YouTube와 같이 태평양 시간 자정에 새 날짜로 넘어갑니다.
+ * 작업별 일일 상한을 위해 같은 장부에 "job:<작업명>" 행으로 작업 사용량도 기록하며, 이 행은 키 사용량 집계에 포함되지 않습니다.
+ */
 @Service
 public class YouTubeApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(YouTubeApiService.class);
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+    // 키 해시(16진수 64자)와 겹치지 않는 작업 사용량 행 접두사
+    private static final String JOB_LEDGER_PREFIX = "job:";
 
-    private final List<String> apiKeys;
-    private final List<AtomicInteger> apiKeyUsage;
-    private final List<Boolean> keyAvailable;
-    private int currentKeyIndex = 0;
+    public enum Endpoint {
+        SEARCH_LIST(100),
+        VIDEOS_LIST(1),
+        CHANNELS_LIST(1),
+        PLAYLIST_ITEMS_LIST(1);
 
-    private final RateLimiter rateLimiter = RateLimiter.create(5.0); // 5 requests per second
+        private final int cost;
 
-    public YouTubeApiService(@Value("${youtube.api.keys}") List<String> apiKeys) {
-        this.apiKeys = new ArrayList<>(apiKeys);
-        this.apiKeyUsage = new ArrayList<>();
-        this.keyAvailable = new ArrayList<>();
-        for (int i = 0; i < apiKeys.size(); i++) {
-            this.apiKeyUsage.add(new AtomicInteger(0));
-            this.keyAvailable.add(true);
+        Endpoint(int cost) {
+            this.cost = cost;
+        }
+
+        public int getCost() {
+            return cost;
         }
     }
 
-    public String getCurrentApiKey() {
-        return apiKeys.get(currentKeyIndex);
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T execute(String apiKey) throws IOException;
     }
 
-    public void incrementApiUsage() {
-        apiKeyUsage.get(currentKeyIndex).incrementAndGet();
-        if (apiKeyUsage.get(currentKeyIndex).get() >= 9000) { // Threshold before hitting the limit
-            switchApiKey();
+    private final YouTubeQuotaUsageRepository quotaUsageRepository;
+    private final String[] apiKeys;
+    private final String[] apiKeyHashes;
+    private final AtomicIntegerArray usedUnits;
+    private final AtomicIntegerArray exhausted;
+    private final AtomicInteger cursor = new AtomicInteger(0);
+    private final AtomicReference<LocalDate> quotaDate = new AtomicReference<>();
+    private final Map<String, AtomicInteger> jobUsedUnits = new ConcurrentHashMap<>();
+    private final int quotaPerKey;
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final int maxThrottleRetries;
+    // 오프라인 전송(youtube.http.transport=offline)의 합성 사용량은 실제 장부에 남기지 않음
+    private final boolean ledgerEnabled;
+
+    public YouTubeApiService(YouTubeQuotaUsageRepository quotaUsageRepository,
+                             AdaptiveRateLimiter rateLimiter,
+                             @Value("${youtube.api.keys}") List<String> apiKeys,
+                             @Value("${youtube.api.quota-per-key:10000}") int quotaPerKey,
+                             @Value("${youtube.rate.max-retries:5}") int maxThrottleRetries,
+                             @Value("${youtube.http.transport:javanet}") String transportType) {
+        this.quotaUsageRepository = quotaUsageRepository;
+        this.ledgerEnabled = !"offline".equalsIgnoreCase(transportType);
+        this.rateLimiter = rateLimiter;
+        this.maxThrottleRetries = maxThrottleRetries;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(key -> !key.isEmpty()).toArray(String[]::new);
+        this.apiKeyHashes = new String[this.apiKeys.length];
+        for (int i = 0; i < this.apiKeys.length; i++) {
+            this.apiKeyHashes[i] = sha256(this.apiKeys[i]);
+        }
+        this.usedUnits = new AtomicIntegerArray(this.apiKeys.length);
+        this.exhausted = new AtomicIntegerArray(this.apiKeys.length);
+        this.quotaPerKey = quotaPerKey;
+        logger.info("YouTube API 키 {}개 로드 완료 (키당 일일 할당량: {})", this.apiKeys.length, quotaPerKey);
+        if (!ledgerEnabled) {
+            logger.info("오프라인 전송 사용 중 - 할당량 장부를 읽거나 기록하지 않고 메모리에서만 집계합니다.");
         }
     }
 
-    private void switchApiKey() {
-        keyAvailable.set(currentKeyIndex, false);
-        int initialKeyIndex = currentKeyIndex;
-        do {
-            currentKeyIndex = (currentKeyIndex + 1) % apiKeys.size();
-            if (keyAvailable.get(currentKeyIndex)) {
-                logger.info("API Key switched to: {}", getCurrentApiKey());
-                return;
+    @PostConstruct
+    public void loadTodayUsage() {
+        LocalDate today = LocalDate.now(QUOTA_ZONE);
+        quotaDate.set(today);
+        loadUsage(today);
+    }
+
+    /**
+     * 사용 가능한 키로 API를 호출합니다. quotaExceeded가 발생하면 해당 키를 소진 처리하고 다음 키로 재시도하며,
+     * 속도 제한이나 서버 오류는 공유 속도 제한기를 낮추고 백오프한 뒤 재시도합니다.
+     * @throws IOException 호출 실패 또는 모든 키의 할당량 소진
+     */
+    public <T> T execute(Endpoint endpoint, ApiCall<T> call) throws IOException {
+        int exhaustedKeys = 0;
+        int throttleRetries = 0;
+        while (exhaustedKeys < apiKeys.length) {
+            rateLimiter.acquire();
+            LocalDate day = currentQuotaDate();
+            int keyIndex = acquireKey(endpoint.getCost());
+            if (keyIndex < 0) {
+                break;
+            }
+            // 실패한 요청도 할당량이 차감되므로 호출 전에 기록
+            recordUsage(keyIndex, day, endpoint.getCost());
+            try {
+                T result = call.execute(apiKeys[keyIndex]);
+                rateLimiter.onSuccess();
+                return result;
+            } catch (HttpResponseException e) {
+                if (e instanceof GoogleJsonResponseException && isQuotaExceeded((GoogleJsonResponseException) e)) {
+                    markExhausted(keyIndex, day);
+                    exhaustedKeys++;
+                    continue;
+                }
+                if (!isThrottled(e) || throttleRetries >= maxThrottleRetries) {
+                    throw e;
+                }
+                long backoffMillis = rateLimiter.onThrottled(throttleRetries++);
+                logger.warn("YouTube API {} 응답 (HTTP {}), {}ms 후 재시도 ({}/{})",
+                        endpoint, e.getStatusCode(), backoffMillis, throttleRetries, maxThrottleRetries);
+                sleep(backoffMillis);
             }
-        } while (currentKeyIndex != initialKeyIndex);
-        throw new RuntimeException("All API keys have been exhausted.");
+        }
+        throw new IOException("모든 API 키의 할당량이 소진되었습니다.");
     }
 
-    public void resetDailyUsage() {
-        for (int i = 0; i < apiKeyUsage.size(); i++) {
-            apiKeyUsage.get(i).set(0);
-            keyAvailable.set(i, true);
+    /**
+     * 오늘 남은 할당량으로 해당 엔드포인트를 calls번 호출할 수 있는지 확인합니다. 작업은 지출 전에 이 값을 확인합니다.
+     */
+    public boolean canAfford(Endpoint endpoint, int calls) {
+        currentQuotaDate();
+        long affordable = 0;
+        for (int i = 0; i < apiKeys.length && affordable < calls; i++) {
+            if (exhausted.get(i) == 0) {
+                affordable += Math.max(0, quotaPerKey - usedUnits.get(i)) / endpoint.getCost();
+            }
         }
-        currentKeyIndex = 0;
-        logger.info("Daily API usage has been reset.");
+        return affordable >= calls;
     }
 
-    public <T> T executeRequest(Callable<T> apiCall) throws IOException {
-        rateLimiter.acquire();
-        int attempts = 0;
-        while (attempts < apiKeys.size()) {
-            try {
-                incrementApiUsage();
-                return apiCall.call();
-            } catch (GoogleJsonResponseException e) {
-                if (e.getDetails() != null && "quotaExceeded".equals(e.getDetails().getErrors().get(0).getReason())) {
-                    logger.warn("API quota exceeded for key. Switching to the next key and retrying.");
-                    switchApiKey();
-                    attempts++;
-                } else {
-                    throw e;
+    public boolean canAfford(Endpoint endpoint) {
+        return canAfford(endpoint, 1);
+    }
+
+    public int getRemainingUnits() {
+        currentQuotaDate();
+        int remaining = 0;
+        for (int i = 0; i < apiKeys.length; i++) {
+            if (exhausted.get(i) == 0) {
+                remaining += Math.max(0, quotaPerKey - usedUnits.get(i));
+            }
+        }
+        return remaining;
+    }
+
+    public int getTotalUsedUnits() {
+        currentQuotaDate();
+        int total = 0;
+        for (int i = 0; i < apiKeys.length; i++) {
+            total += usedUnits.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * 오늘 해당 작업이 사용한 유닛 수. 작업별 일일 상한은 이 값과 비교합니다.
+     */
+    public int getJobUsedUnits(String job) {
+        currentQuotaDate();
+        AtomicInteger used = jobUsedUnits.get(job);
+        return used != null ? used.get() : 0;
+    }
+
+    /**
+     * 작업이 사용한 유닛을 오늘 날짜의 작업 사용량에 더하고 장부에도 누적합니다.
+     */
+    public void recordJobUsage(String job, int units) {
+        if (units <= 0) {
+            return;
+        }
+        LocalDate day = currentQuotaDate();
+        jobUsedUnits.computeIfAbsent(job, key -> new AtomicInteger()).addAndGet(units);
+        if (!ledgerEnabled) {
+            return;
+        }
+        try {
+            quotaUsageRepository.addUsage(JOB_LEDGER_PREFIX + job, day, units);
+        } catch (Exception e) {
+            logger.warn("할당량 장부 기록 실패 (작업 {}): {}", job, e.getMessage());
+        }
+    }
+
+    // 태평양 시간으로 날짜가 바뀌었으면 카운터를 새 날짜의 장부 값으로 교체
+    private LocalDate currentQuotaDate() {
+        LocalDate today = LocalDate.now(QUOTA_ZONE);
+        LocalDate known = quotaDate.get();
+        if (!today.equals(known) && quotaDate.compareAndSet(known, today)) {
+            loadUsage(today);
+            logger.info("YouTube 할당량 날짜 변경: {} -> {}", known, today);
+        }
+        return today;
+    }
+
+    private void loadUsage(LocalDate day) {
+        Map<String, Integer> usageByHash = new HashMap<>();
+        try {
+            if (ledgerEnabled) {
+                for (YouTubeQuotaUsageEntity usage : quotaUsageRepository.findByQuotaDate(day)) {
+                    usageByHash.put(usage.getApiKeyHash(), usage.getUsedUnits());
                 }
+            }
+        } catch (Exception e) {
+            logger.warn("할당량 장부 조회 실패, 사용량 0으로 시작합니다: {}", e.getMessage());
+        }
+        for (int i = 0; i < apiKeys.length; i++) {
+            usedUnits.set(i, usageByHash.getOrDefault(apiKeyHashes[i], 0));
+            exhausted.set(i, 0);
+        }
+        jobUsedUnits.clear();
+        usageByHash.forEach((hash, units) -> {
+            if (hash.startsWith(JOB_LEDGER_PREFIX)) {
+                jobUsedUnits.put(hash.substring(JOB_LEDGER_PREFIX.length()), new AtomicInteger(units));
+            }
+        });
+        logger.info("{} 할당량 장부 로드 완료 - 사용량: {} 유닛", day, getTotalUsedUnits());
+    }
+
+    private void recordUsage(int keyIndex, LocalDate day, int units) {
+        if (!ledgerEnabled) {
+            return;
+        }
+        try {
+            quotaUsageRepository.addUsage(apiKeyHashes[keyIndex], day, units);
+        } catch (Exception e) {
+            logger.warn("할당량 장부 기록 실패 (키 #{}): {}", keyIndex, e.getMessage());
+        }
+    }
+
+    // 라운드 로빈으로 시작 키를 정하고, 비용을 감당할 수 있는 첫 키에 CAS로 비용을 청구
+    private int acquireKey(int cost) {
+        int keyCount = apiKeys.length;
+        if (keyCount == 0) {
+            return -1;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            int index = (start + i) % keyCount;
+            if (exhausted.get(index) == 1) {
+                continue;
+            }
+            while (true) {
+                int used = usedUnits.get(index);
+                if (used + cost > quotaPerKey) {
+                    break;
+                }
+                if (usedUnits.compareAndSet(index, used, used + cost)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void markExhausted(int keyIndex, LocalDate day) {
+        if (exhausted.compareAndSet(keyIndex, 0, 1)) {
+            logger.warn("API 키 #{} 할당량 소진 (사용량: {} 유닛). 다른 키로 전환합니다.", keyIndex, usedUnits.get(keyIndex));
+            if (!ledgerEnabled) {
+                return;
+            }
+            try {
+                quotaUsageRepository.raiseUsageTo(apiKeyHashes[keyIndex], day, quotaPerKey);
             } catch (Exception e) {
-                throw new IOException("An unexpected error occurred during API execution", e);
+                logger.warn("할당량 장부 기록 실패 (키 #{}): {}", keyIndex, e.getMessage());
             }
         }
-        throw new IOException("All API keys have exhausted their quotas. Cannot proceed.");
+    }
+
+    // 403 rateLimitExceeded / userRateLimitExceeded, 429, 5xx
+    private boolean isThrottled(HttpResponseException e) {
+        int status = e.getStatusCode();
+        if (status == 429 || status >= 500) {
+            return true;
+        }
+        if (status == 403 && e instanceof GoogleJsonResponseException) {
+            String reason = errorReason((GoogleJsonResponseException) e);
+            return "rateLimitExceeded".equals(reason) || "userRateLimitExceeded".equals(reason);
+        }
+        return false;
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("YouTube API 재시도 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private boolean isQuotaExceeded(GoogleJsonResponseException e) {
+        String reason = errorReason(e);
+        return "quotaExceeded".equals(reason) || "dailyLimitExceeded".equals(reason);
+    }
+
+    private String errorReason(GoogleJsonResponseException e) {
+        GoogleJsonError details = e.getDetails();
+        if (details == null || details.getErrors() == null || details.getErrors().isEmpty()) {
+            return null;
+        }
+        return details.getErrors().get(0).getReason();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.VSong.service;
+
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.Channel;
+import com.google.api.services.youtube.model.ChannelListResponse;
+import com.google.api.services.youtube.model.Video;
+import com.google.api.services.youtube.model.VideoListResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 여러 채널/작업에서 들어오는 videos.list, channels.list 요청을 50개 ID 단위로 합쳐 보냅니다.
+ * 할당량 1 유닛으로 최대 50개 항목을 받을 수 있으므로, 15개짜리 RSS 피드나 단일 채널 조회도
+ * 다른 호출과 묶여 한 번의 요청으로 처리됩니다.
+ */
+@Service
+public class YouTubeBatchLoader {
+
+    private static final int MAX_IDS_PER_REQUEST = 50;
+    private static final List<String> VIDEO_PARTS = List.of("id", "snippet", "contentDetails", "statistics");
+    private static final List<String> CHANNEL_PARTS = List.of("snippet", "statistics", "contentDetails");
+
+    private final YouTube youTube;
+    private final YouTubeApiService youTubeApiService;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+    private final RequestCoalescer<Video> videoCoalescer;
+    private final RequestCoalescer<Channel> channelCoalescer;
+
+    public YouTubeBatchLoader(YouTube youTube,
+                              YouTubeApiService youTubeApiService,
+                              @Value("${youtube.batch.linger-ms:50}") long lingerMillis,
+                              @Value("${youtube.batch.flush-threads:4}") int flushThreads) {
+        this.youTube = youTube;
+        this.youTubeApiService = youTubeApiService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "youtube-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor = Executors.newFixedThreadPool(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "youtube-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.videoCoalescer = new RequestCoalescer<>("videos.list", this::loadVideos,
+                MAX_IDS_PER_REQUEST, lingerMillis, scheduler, flushExecutor);
+        this.channelCoalescer = new RequestCoalescer<>("channels.list", this::loadChannels,
+                MAX_IDS_PER_REQUEST, lingerMillis, scheduler, flushExecutor);
+    }
+
+    public CompletableFuture<Map<String, Video>> videosAsync(Collection<String> videoIds) {
+        return videoCoalescer.submitAll(videoIds);
+    }
+
+    public CompletableFuture<Map<String, Channel>> channelsAsync(Collection<String> channelIds) {
+        return channelCoalescer.submitAll(channelIds);
+    }
+
+    public Map<String, Video> getVideos(Collection<String> videoIds) throws IOException {
+        return await(videosAsync(videoIds));
+    }
+
+    public Map<String, Channel> getChannels(Collection<String> channelIds) throws IOException {
+        return await(channelsAsync(channelIds));
+    }
+
+    public Channel getChannel(String channelId) throws IOException {
+        return await(channelCoalescer.submit(channelId));
+    }
+
+    /**
+     * 비동기 조회 결과를 기다리고, 실패 원인을 IOException으로 풀어서 던집니다.
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("YouTube 일괄 조회 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("YouTube 일괄 조회 실패", cause);
+        }
+    }
+
+    private Map<String, Video> loadVideos(List<String> videoIds) throws IOException {
+        YouTube.Videos.List request = youTube.videos().list(VIDEO_PARTS);
+        request.setId(videoIds);
+        request.setFields(YouTubeFields.VIDEO_INGEST);
+        VideoListResponse response = youTubeApiService.execute(YouTubeApiService.Endpoint.VIDEOS_LIST, apiKey -> {
+            request.setKey(apiKey);
+            return request.execute();
+        });
+        Map<String, Video> videos = new HashMap<>();
+        if (response.getItems() != null) {
+            for (Video video : response.getItems()) {
+                videos.put(video.getId(), video);
+            }
+        }
+        return videos;
+    }
+
+    private Map<String, Channel> loadChannels(List<String> channelIds) throws IOException {
+        YouTube.Channels.List request = youTube.channels().list(CHANNEL_PARTS);
+        request.setId(channelIds);
+        request.setFields(YouTubeFields.CHANNEL_DETAILS);
+        ChannelListResponse response = youTubeApiService.execute(YouTubeApiService.Endpoint.CHANNELS_LIST, apiKey -> {
+            request.setKey(apiKey);
+            return request.execute();
+        });
+        Map<String, Channel> channels = new HashMap<>();
+        if (response.getItems() != null) {
+            for (Channel channel : response.getItems()) {
+                channels.put(channel.getId(), channel);
+            }
+        }
+        return channels;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flushExecutor.shutdownNow();
+    }
+}
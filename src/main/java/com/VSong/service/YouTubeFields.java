@@ -0,0 +1,38 @@
+package com.VSong.service;
+
+/**
+ * 호출 위치별 YouTube Data API fields 마스크.
+ * 실제로 읽거나 저장하는 필드만 요청해 응답 크기와 파싱/할당 비용을 줄입니다. 필드를 새로 읽게 되면 여기에 추가해야 합니다.
+ */
+public final class YouTubeFields {
+
+    // 노래 수집: 검증(제목/설명/카테고리), 분류(길이), VtuberSongsEntity 저장(채널/제목/게시일/조회수)에 쓰는 필드
+    public static final String VIDEO_INGEST = "items(id,snippet(channelId,title,description,publishedAt,categoryId)," +
+            "contentDetails/duration,statistics/viewCount)";
+
+    // 조회수 갱신: 응답에 없는 ID는 삭제된 동영상으로 판단
+    public static final String VIDEO_VIEW_COUNTS = "items(id,statistics/viewCount)";
+
+    // 업로드 재생목록: 동영상 ID와 워터마크 비교용 게시 시각만 사용
+    public static final String PLAYLIST_VIDEO_IDS = "nextPageToken,items/contentDetails(videoId,videoPublishedAt)";
+
+    // 신규 채널 저장 및 업로드 재생목록 조회
+    public static final String CHANNEL_DETAILS = "items(id,snippet/title,snippet/description,snippet/thumbnails/default/url," +
+            "statistics/subscriberCount,contentDetails/relatedPlaylists/uploads)";
+
+    // 검증 대상 채널 정보 (업로드 재생목록 불필요)
+    public static final String CHANNEL_PROFILE = "items(id,snippet/title,snippet/description,snippet/thumbnails/default/url," +
+            "statistics/subscriberCount)";
+
+    // 주간 프로필 동기화: 목록/리소스 ETag로 변경 여부 판단
+    public static final String CHANNEL_SYNC = "etag,items(id,etag,snippet/title,snippet/description," +
+            "snippet/thumbnails/default/url,statistics/subscriberCount)";
+
+    public static final String SEARCH_CHANNEL_IDS = "nextPageToken,items(id/channelId)";
+
+    // 콘텐츠 패턴 분석: 업로드 재생목록의 최근 동영상 제목만 사용
+    public static final String PLAYLIST_VIDEO_TITLES = "items/snippet/title";
+
+    private YouTubeFields() {
+    }
+}
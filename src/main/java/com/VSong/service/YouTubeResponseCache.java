@@ -0,0 +1,174 @@
+package com.VSong.service;
+
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClientRequest;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * YouTube Data API 응답을 요청 단위로 ETag와 함께 보관하는 LRU 캐시.
+ * 같은 요청을 다시 보낼 때 If-None-Match를 붙이고, 304 응답이면 본문 없이 보관된 응답을 돌려주므로
+ * JSON 파싱과 이후의 DB 쓰기를 건너뛸 수 있습니다. youtube.etag-cache.file이 설정되면 종료 시 디스크에 저장했다가
+ * 시작 시 다시 읽습니다.
+ */
+@Component
+public class YouTubeResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeResponseCache.class);
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private final YouTubeApiService youTubeApiService;
+    private final JsonFactory jsonFactory = JacksonFactory.getDefaultInstance();
+    private final Cache<String, CachedEntry> entries;
+
+    @Value("${youtube.etag-cache.file:}")
+    private String cacheFile;
+
+    public YouTubeResponseCache(YouTubeApiService youTubeApiService,
+                                @Value("${youtube.etag-cache.max-entries:10000}") long maxEntries) {
+        this.youTubeApiService = youTubeApiService;
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * 조건부 요청을 실행합니다. 요청 객체의 파라미터(id, part, fields 등)는 호출자가 미리 설정해야 하며,
+     * cacheKey는 그 파라미터를 모두 반영해야 합니다.
+     */
+    public <T extends GenericJson> Result<T> execute(String cacheKey,
+                                                     YouTubeApiService.Endpoint endpoint,
+                                                     AbstractGoogleJsonClientRequest<T> request) throws IOException {
+        CachedEntry cached = entries.getIfPresent(cacheKey);
+        if (cached != null) {
+            request.getRequestHeaders().setIfNoneMatch(cached.etag);
+        }
+        try {
+            T response = youTubeApiService.execute(endpoint, apiKey -> {
+                request.setKey(apiKey);
+                return request.execute();
+            });
+            Object etag = response.get("etag");
+            if (etag instanceof String) {
+                entries.put(cacheKey, new CachedEntry((String) etag, response));
+            }
+            return new Result<>(response, false);
+        } catch (HttpResponseException e) {
+            if (e.getStatusCode() == HTTP_NOT_MODIFIED && cached != null) {
+                return new Result<>(request.getResponseClass().cast(cached.response), true);
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(String cacheKey) {
+        entries.invalidate(cacheKey);
+    }
+
+    @PostConstruct
+    public void load() {
+        Path path = cachePath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        int loaded = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // key \t etag \t 응답 클래스 \t 응답 JSON
+                String[] parts = line.split("\t", 4);
+                if (parts.length < 4) continue;
+                try {
+                    Class<?> type = Class.forName(parts[2]);
+                    if (!GenericJson.class.isAssignableFrom(type)) continue;
+                    GenericJson response = (GenericJson) jsonFactory.fromString(parts[3], type);
+                    entries.put(parts[0], new CachedEntry(parts[1], response));
+                    loaded++;
+                } catch (ClassNotFoundException | IllegalArgumentException | IOException e) {
+                    logger.debug("ETag 캐시 항목 무시: {}", e.getMessage());
+                }
+            }
+            logger.info("ETag 캐시 {}개 항목 로드 완료: {}", loaded, path);
+        } catch (IOException e) {
+            logger.warn("ETag 캐시 파일 로드 실패: {} - {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        Path path = cachePath();
+        if (path == null) {
+            return;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, CachedEntry> entry : entries.asMap().entrySet()) {
+                    CachedEntry cached = entry.getValue();
+                    writer.write(entry.getKey() + "\t" + cached.etag + "\t" + cached.response.getClass().getName()
+                            + "\t" + jsonFactory.toString(cached.response));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("ETag 캐시 {}개 항목 저장 완료: {}", entries.size(), path);
+        } catch (IOException e) {
+            logger.warn("ETag 캐시 파일 저장 실패: {} - {}", path, e.getMessage());
+        }
+    }
+
+    private Path cachePath() {
+        return cacheFile == null || cacheFile.isBlank() ? null : Paths.get(cacheFile);
+    }
+
+    private static class CachedEntry {
+        private final String etag;
+        private final GenericJson response;
+
+        CachedEntry(String etag, GenericJson response) {
+            this.etag = etag;
+            this.response = response;
+        }
+    }
+
+    public static class Result<T> {
+        private final T response;
+        private final boolean notModified;
+
+        Result(T response, boolean notModified) {
+            this.response = response;
+            this.notModified = notModified;
+        }
+
+        public T getResponse() {
+            return response;
+        }
+
+        // true면 이전 응답과 동일 (304)
+        public boolean isNotModified() {
+            return notModified;
+        }
+    }
+}
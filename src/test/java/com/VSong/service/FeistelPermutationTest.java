@@ -0,0 +1,67 @@
+package com.VSong.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeistelPermutationTest {
+
+    private static final long[] SEEDS = {0L, 1L, -1L, 42L, 0x9E3779B97F4A7C15L};
+
+    @Test
+    void isBijectionOverWholeDomain() {
+        for (int bits = 0; bits <= 14; bits++) {
+            for (long seed : SEEDS) {
+                FeistelPermutation permutation = new FeistelPermutation(bits, seed);
+                long domainSize = permutation.getDomainSize();
+                assertThat(domainSize).isGreaterThanOrEqualTo(1L << bits);
+
+                // 영역 안의 모든 위치가 영역 안의 서로 다른 값으로 가야 함
+                BitSet seen = new BitSet((int) domainSize);
+                for (long index = 0; index < domainSize; index++) {
+                    long value = permutation.apply(index);
+                    assertThat(value).isBetween(0L, domainSize - 1);
+                    assertThat(seen.get((int) value)).as("bits=%d seed=%d value=%d", bits, seed, value).isFalse();
+                    seen.set((int) value);
+                }
+                assertThat(seen.cardinality()).isEqualTo((int) domainSize);
+            }
+        }
+    }
+
+    @Test
+    void oddBitsRoundUpToEvenDomain() {
+        assertThat(new FeistelPermutation(0, 7L).getDomainSize()).isEqualTo(4);
+        assertThat(new FeistelPermutation(5, 7L).getDomainSize()).isEqualTo(64);
+        assertThat(new FeistelPermutation(6, 7L).getDomainSize()).isEqualTo(64);
+        assertThatThrownBy(() -> new FeistelPermutation(63, 7L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void orderDependsOnSeed() {
+        FeistelPermutation first = new FeistelPermutation(10, 1L);
+        FeistelPermutation again = new FeistelPermutation(10, 1L);
+        FeistelPermutation other = new FeistelPermutation(10, 2L);
+
+        int differing = 0;
+        for (long index = 0; index < first.getDomainSize(); index++) {
+            assertThat(again.apply(index)).isEqualTo(first.apply(index));
+            if (other.apply(index) != first.apply(index)) {
+                differing++;
+            }
+        }
+        assertThat(differing).isGreaterThan(900);
+    }
+
+    @Test
+    void bitsForIsSmallestCoveringExponent() {
+        assertThat(FeistelPermutation.bitsFor(0)).isZero();
+        assertThat(FeistelPermutation.bitsFor(1)).isZero();
+        assertThat(FeistelPermutation.bitsFor(2)).isEqualTo(1);
+        assertThat(FeistelPermutation.bitsFor(1024)).isEqualTo(10);
+        assertThat(FeistelPermutation.bitsFor(1025)).isEqualTo(11);
+    }
+}
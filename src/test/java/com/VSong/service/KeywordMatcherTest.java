@@ -0,0 +1,162 @@
+package com.VSong.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    private enum Category { FIRST, SECOND }
+
+    @Test
+    void findsOverlappingKeywords() {
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, List.of("he", "she", "his", "hers"))
+                .build();
+
+        KeywordMatcher.Result<Category> result = matcher.scan("ushers");
+
+        assertThat(result.contains(Category.FIRST)).isTrue();
+        assertThat(result.count(Category.FIRST)).isEqualTo(3); // she, he, hers
+        assertThat(result.firstMatch(Category.FIRST)).isEqualTo("he");
+    }
+
+    @Test
+    void findsKeywordThatIsSuffixOfPartialMatch() {
+        // "abcd"를 따라가다 실패한 뒤 실패 링크로 "bc"를 찾아야 함
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, List.of("abcd"))
+                .add(Category.SECOND, List.of("bc", "c"))
+                .build();
+
+        KeywordMatcher.Result<Category> result = matcher.scan("xabcx");
+
+        assertThat(result.contains(Category.FIRST)).isFalse();
+        assertThat(result.firstMatch(Category.FIRST)).isNull();
+        assertThat(result.count(Category.SECOND)).isEqualTo(2);
+        assertThat(result.firstMatch(Category.SECOND)).isEqualTo("bc");
+    }
+
+    @Test
+    void firstMatchFollowsKeywordListOrderNotTextPosition() {
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, List.of("노래", "cover"))
+                .build();
+
+        assertThat(matcher.scan("cover 노래").firstMatch(Category.FIRST)).isEqualTo("노래");
+    }
+
+    @Test
+    void sameKeywordInSeveralCategoriesIsReportedForEach() {
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, List.of("live"))
+                .add(Category.SECOND, List.of("live", "stream"))
+                .build();
+
+        KeywordMatcher.Result<Category> result = matcher.scan("live stream live");
+
+        assertThat(result.count(Category.FIRST)).isEqualTo(1);
+        assertThat(result.count(Category.SECOND)).isEqualTo(2);
+    }
+
+    @Test
+    void nullTextAndEmptyKeywordsMatchNothing() {
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, List.of("", "song"))
+                .build();
+
+        assertThat(matcher.scan(null).contains(Category.FIRST)).isFalse();
+        assertThat(matcher.scan("anything").contains(Category.FIRST)).isFalse();
+    }
+
+    @Test
+    void caseSensitiveCategoriesMatchOldContainsLoop() {
+        // VtuberValidationService의 우선/제외/버튜버 키워드: 원문 텍스트에 원문 키워드
+        List<String> keywords = List.of("Vtuber", "VTuber", "버튜버", "MV", "Cover");
+        KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, keywords)
+                .build();
+
+        for (String text : List.of("New VTuber debut", "vtuber cover", "버튜버 MV", "Cover song", "")) {
+            assertMatchesContainsLoop(matcher.scan(text), keywords, text);
+        }
+        assertThat(matcher.scan("vtuber cover").contains(Category.FIRST)).isFalse();
+    }
+
+    @Test
+    void lowerCaseCategoriesMatchOldContainsLoop() {
+        List<String> rawKeywords = List.of("Vtuber", "Live2D", "노래", "Cover");
+        // 아바타/활동/소속사 목록: 키워드와 텍스트를 모두 소문자로 바꿔 비교
+        KeywordMatcher<Category> lowered = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, rawKeywords.stream().map(String::toLowerCase).toList())
+                .build();
+        // 노래 판별 목록: 텍스트만 소문자로 바꾸고 키워드는 그대로 (대문자가 섞인 키워드는 일치하지 않음)
+        KeywordMatcher<Category> raw = KeywordMatcher.builder(Category.class)
+                .add(Category.FIRST, rawKeywords)
+                .build();
+
+        for (String text : List.of("VTUBER Live2D 노래", "COVER", "live2d showcase", "")) {
+            String lowerText = text.toLowerCase();
+            assertMatchesContainsLoop(lowered.scan(lowerText),
+                    rawKeywords.stream().map(String::toLowerCase).toList(), lowerText);
+            assertMatchesContainsLoop(raw.scan(lowerText), rawKeywords, lowerText);
+        }
+        assertThat(lowered.scan("COVER".toLowerCase()).contains(Category.FIRST)).isTrue();
+        assertThat(raw.scan("COVER".toLowerCase()).contains(Category.FIRST)).isFalse();
+    }
+
+    @Test
+    void randomTextsMatchOldContainsLoop() {
+        // 작은 알파벳으로 겹치는 키워드를 많이 만들어 실패 링크와 출력 병합을 검증
+        Random random = new Random(42);
+        String alphabet = "abAB가나";
+        for (int round = 0; round < 200; round++) {
+            List<String> first = randomWords(random, alphabet, 1 + random.nextInt(6));
+            List<String> second = randomWords(random, alphabet, 1 + random.nextInt(6));
+            KeywordMatcher<Category> matcher = KeywordMatcher.builder(Category.class)
+                    .add(Category.FIRST, first)
+                    .add(Category.SECOND, second)
+                    .build();
+            for (int t = 0; t < 20; t++) {
+                String text = randomWord(random, alphabet, random.nextInt(30));
+                KeywordMatcher.Result<Category> result = matcher.scan(text);
+                assertMatchesContainsLoop(result, first, text);
+                assertMatchesContainsLoop(result, second, text, Category.SECOND);
+            }
+        }
+    }
+
+    private static void assertMatchesContainsLoop(KeywordMatcher.Result<Category> result, List<String> keywords, String text) {
+        assertMatchesContainsLoop(result, keywords, text, Category.FIRST);
+    }
+
+    // 기존 구현: keywords.stream().filter(text::contains)
+    private static void assertMatchesContainsLoop(KeywordMatcher.Result<Category> result, List<String> keywords,
+                                                  String text, Category category) {
+        List<String> expected = keywords.stream().filter(text::contains).toList();
+        assertThat(result.contains(category)).as("contains %s in '%s'", keywords, text).isEqualTo(!expected.isEmpty());
+        assertThat(result.firstMatch(category)).as("firstMatch %s in '%s'", keywords, text)
+                .isEqualTo(expected.isEmpty() ? null : expected.get(0));
+        assertThat(result.count(category)).as("count %s in '%s'", keywords, text).isEqualTo(expected.size());
+    }
+
+    private static List<String> randomWords(Random random, String alphabet, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add(randomWord(random, alphabet, 1 + random.nextInt(4)));
+        }
+        return words;
+    }
+
+    private static String randomWord(Random random, String alphabet, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+}
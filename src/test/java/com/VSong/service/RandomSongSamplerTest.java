@@ -0,0 +1,70 @@
+package com.VSong.service;
+
+import com.VSong.repository.VtuberSongsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RandomSongSamplerTest {
+
+    private static final List<Long> VIDEO_IDS = LongStream.rangeClosed(1, 40).map(id -> id * 3).boxed().toList();
+    private static final List<Long> FEMALE_VIDEO_IDS = List.of(3L, 9L, 27L);
+
+    private RandomSongSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        VtuberSongsRepository repository = mock(VtuberSongsRepository.class);
+        when(repository.findIdsByClassification(anyString())).thenReturn(List.of());
+        when(repository.findIdsByClassification("videos")).thenReturn(VIDEO_IDS);
+        when(repository.findIdsByClassificationAndGender(anyString(), anyString())).thenReturn(List.of());
+        when(repository.findIdsByClassificationAndGender("videos", "female")).thenReturn(FEMALE_VIDEO_IDS);
+        sampler = new RandomSongSampler(repository);
+        sampler.refresh();
+    }
+
+    @Test
+    void samplesDistinctIdsFromArray() {
+        for (int k = 0; k <= VIDEO_IDS.size(); k++) {
+            for (int round = 0; round < 50; round++) {
+                long[] sampled = sampler.sample("videos", null, k);
+
+                assertThat(sampled).hasSize(k).doesNotHaveDuplicates();
+                assertThat(Arrays.stream(sampled).boxed().toList()).allMatch(VIDEO_IDS::contains);
+            }
+        }
+    }
+
+    @Test
+    void everyIdCanBeSampled() {
+        long[] seen = new long[0];
+        for (int round = 0; round < 2000 && seen.length < VIDEO_IDS.size(); round++) {
+            seen = LongStream.concat(Arrays.stream(seen), Arrays.stream(sampler.sample("videos", null, 3)))
+                    .distinct().toArray();
+        }
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(VIDEO_IDS);
+    }
+
+    @Test
+    void kAtLeastSizeReturnsAllIds() {
+        assertThat(sampler.sample("videos", null, VIDEO_IDS.size())).containsExactlyInAnyOrderElementsOf(VIDEO_IDS);
+        assertThat(sampler.sample("videos", null, 1000)).containsExactlyInAnyOrderElementsOf(VIDEO_IDS);
+        assertThat(sampler.sample("videos", "female", 10)).containsExactlyInAnyOrderElementsOf(FEMALE_VIDEO_IDS);
+    }
+
+    @Test
+    void emptyArrayReturnsNothing() {
+        assertThat(sampler.sample("shorts", null, 10)).isEmpty();
+        assertThat(sampler.sample("videos", "male", 10)).isEmpty();
+        assertThat(sampler.sample("videos", null, 0)).isEmpty();
+        assertThat(sampler.sample("videos", null, -1)).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package com.VSong.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelatedChannelFetcherTest {
+
+    private static final String SOURCE_ID = "UCAAAAAAAAAAAAAAAAAAAAAA";
+    private static final String LINKED_1 = "UCbbbbbbbbbbbbbbbbbbbbb1";
+    private static final String LINKED_2 = "UCc-c-c-c-c-c-c-c-c-c-c-";
+    private static final String LINKED_3 = "UCd_d_d_d_d_d_d_d_d_d_d_";
+    private static final String PLAYER_CHANNEL_ID = "UCzzzzzzzzzzzzzzzzzzzzzz";
+    private static final String CONSENT_ID = "UCconsentconsentconsent1";
+    private static final String MISSING_ID = "UCmissingmissingmissing1";
+    private static final String THROTTLED_ID = "UCthrottledthrottledthr1";
+
+    private HttpServer server;
+    private CloseableHttpAsyncClient httpClient;
+    private RelatedChannelFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 저장해 둔 /channels 탭 HTML을 로컬 서버로 제공
+        Map<String, String> pages = Map.of(
+                SOURCE_ID, fixture("channels-tab.html"),
+                CONSENT_ID, fixture("no-initial-data.html"));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/channel/", exchange -> {
+            String channelId = exchange.getRequestURI().getPath().split("/")[2];
+            String page = pages.get(channelId);
+            int status = page != null ? 200 : THROTTLED_ID.equals(channelId) ? 429 : 404;
+            byte[] body = (page != null ? page : "error").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        httpClient = HttpAsyncClients.createDefault();
+        httpClient.start();
+        fetcher = new RelatedChannelFetcher(httpClient);
+        ReflectionTestUtils.setField(fetcher, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(fetcher, "maxConcurrency", 2);
+        ReflectionTestUtils.setField(fetcher, "fetchTimeoutMinutes", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void parsesLinkedChannelsFromInitialDataOnly() throws IOException {
+        var linked = RelatedChannelFetcher.parseLinkedChannelIds(SOURCE_ID, fixture("channels-tab.html"));
+
+        // 원본 채널, 중복, ytInitialData 밖(플레이어 응답)의 ID는 제외되고 페이지 순서를 유지
+        assertThat(linked).containsExactly(LINKED_1, LINKED_2, LINKED_3);
+        assertThat(linked).doesNotContain(SOURCE_ID, PLAYER_CHANNEL_ID);
+    }
+
+    @Test
+    void pageWithoutInitialDataIsFailure() throws IOException {
+        assertThat(RelatedChannelFetcher.parseLinkedChannelIds(CONSENT_ID, fixture("no-initial-data.html"))).isNull();
+        assertThat(RelatedChannelFetcher.parseLinkedChannelIds(CONSENT_ID, null)).isNull();
+    }
+
+    @Test
+    void fetchSeparatesParsedPagesFromFailures() {
+        RelatedChannelFetcher.FetchResult result =
+                fetcher.fetch(List.of(SOURCE_ID, CONSENT_ID, MISSING_ID, THROTTLED_ID));
+
+        assertThat(result.getLinkedBySource()).containsOnlyKeys(SOURCE_ID);
+        assertThat(result.getLinkedBySource().get(SOURCE_ID)).containsExactly(LINKED_1, LINKED_2, LINKED_3);
+        assertThat(result.getLinkedChannelIds()).containsExactly(LINKED_1, LINKED_2, LINKED_3);
+        // ytInitialData 없음, 404, 429는 모두 실패로 분류
+        assertThat(result.getFailedChannelIds()).containsExactlyInAnyOrder(CONSENT_ID, MISSING_ID, THROTTLED_ID);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = RelatedChannelFetcherTest.class.getResourceAsStream("/related/" + name)) {
+            assertThat(in).as("fixture %s", name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
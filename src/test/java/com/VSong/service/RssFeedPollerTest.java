@@ -0,0 +1,156 @@
+package com.VSong.service;
+
+import com.VSong.entity.VtuberEntity;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RssFeedPollerTest {
+
+    private static final String FEED_ID = "UCAAAAAAAAAAAAAAAAAAAAAA";
+    private static final String CACHED_ID = "UCcachedcachedcachedcach";
+    private static final String MALFORMED_ID = "UCmalformedmalformedmalf";
+    private static final String MISSING_ID = "UCmissingmissingmissing1";
+    private static final String ETAG = "\"feed-v2\"";
+    private static final String LAST_MODIFIED = "Sat, 11 Jan 2025 03:00:00 GMT";
+
+    private HttpServer server;
+    private CloseableHttpAsyncClient httpClient;
+    private RssFeedPoller poller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 저장해 둔 RSS 피드를 로컬 서버로 제공. 저장된 ETag / Last-Modified가 모두 일치하면 304
+        String feed = fixture("videos.xml");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feeds/videos.xml", exchange -> {
+            String channelId = exchange.getRequestURI().getQuery().replace("channel_id=", "");
+            boolean cached = ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))
+                    && LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+            if (MISSING_ID.equals(channelId)) {
+                respond(exchange, 404, "not found");
+            } else if (MALFORMED_ID.equals(channelId)) {
+                respond(exchange, 200, "<feed><entry><yt:videoId>broken");
+            } else if (cached) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+                respond(exchange, 200, feed);
+            }
+        });
+        server.start();
+
+        httpClient = HttpAsyncClients.createDefault();
+        httpClient.start();
+        poller = newPoller(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void changedFeedReturnsVideoIdsAndValidators() {
+        List<RssFeedPoller.FeedResult> results = poller.poll(List.of(vtuber(FEED_ID, null, null)));
+
+        assertThat(results).hasSize(1);
+        RssFeedPoller.FeedResult result = results.get(0);
+        assertThat(result.isModified()).isTrue();
+        // yt 네임스페이스의 videoId만 공백을 제거해 읽음
+        assertThat(result.getVideoIds()).containsExactly("video000001", "video000002");
+        assertThat(result.getEtag()).isEqualTo(ETAG);
+        assertThat(result.getLastModified()).isEqualTo(LAST_MODIFIED);
+    }
+
+    @Test
+    void notModifiedFeedKeepsStoredValidators() {
+        List<RssFeedPoller.FeedResult> results = poller.poll(List.of(vtuber(CACHED_ID, ETAG, LAST_MODIFIED)));
+
+        // 조건부 헤더가 전송되어 서버가 304를 돌려줌
+        assertThat(results).hasSize(1);
+        RssFeedPoller.FeedResult result = results.get(0);
+        assertThat(result.isModified()).isFalse();
+        assertThat(result.getVideoIds()).isEmpty();
+        assertThat(result.getEtag()).isEqualTo(ETAG);
+        assertThat(result.getLastModified()).isEqualTo(LAST_MODIFIED);
+    }
+
+    @Test
+    void malformedAndFailedFeedsAreLeftOut() {
+        List<RssFeedPoller.FeedResult> results = poller.poll(List.of(
+                vtuber(MALFORMED_ID, null, null), vtuber(MISSING_ID, null, null), vtuber(FEED_ID, null, null)));
+
+        Map<String, RssFeedPoller.FeedResult> byChannel = results.stream()
+                .collect(Collectors.toMap(result -> result.getVtuber().getChannelId(), Function.identity()));
+        assertThat(byChannel).containsOnlyKeys(FEED_ID);
+    }
+
+    @Test
+    @Timeout(10)
+    void requestsThatNeverStartDoNotHoldPermits() throws IOException {
+        // 시작하지 않은 클라이언트는 요청을 보내지 못함. 동시성 1에서도 허가가 반환되어 끝까지 진행해야 함
+        try (CloseableHttpAsyncClient idleClient = HttpAsyncClients.createDefault()) {
+            RssFeedPoller idlePoller = newPoller(idleClient);
+
+            List<RssFeedPoller.FeedResult> results = idlePoller.poll(List.of(
+                    vtuber(FEED_ID, null, null), vtuber(CACHED_ID, null, null), vtuber(MISSING_ID, null, null)));
+
+            assertThat(results).isEmpty();
+        }
+    }
+
+    private RssFeedPoller newPoller(CloseableHttpAsyncClient client) {
+        RssFeedPoller newPoller = new RssFeedPoller(client);
+        ReflectionTestUtils.setField(newPoller, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(newPoller, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(newPoller, "pollTimeoutMinutes", 1);
+        return newPoller;
+    }
+
+    private static VtuberEntity vtuber(String channelId, String etag, String lastModified) {
+        VtuberEntity vtuber = new VtuberEntity();
+        vtuber.setChannelId(channelId);
+        vtuber.setName(channelId);
+        vtuber.setFeedEtag(etag);
+        vtuber.setFeedLastModified(lastModified);
+        return vtuber;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/atom+xml; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = RssFeedPollerTest.class.getResourceAsStream("/rss/" + name)) {
+            assertThat(in).as("fixture %s", name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
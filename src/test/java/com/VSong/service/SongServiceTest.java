@@ -0,0 +1,137 @@
+package com.VSong.service;
+
+import com.VSong.dto.ShuffledSongsPage;
+import com.VSong.entity.VtuberSongsEntity;
+import com.VSong.repository.VtuberSongsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SongServiceTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    // 저장소에 있는 "videos" 노래 ID (gender가 있는 행)
+    private final TreeSet<Long> storedIds = new TreeSet<>();
+    private RandomSongSampler sampler;
+    private SongService songService;
+
+    @BeforeEach
+    void setUp() {
+        VtuberSongsRepository repository = mock(VtuberSongsRepository.class);
+        when(repository.findIdsByClassification(anyString())).thenAnswer(invocation ->
+                "videos".equals(invocation.getArgument(0)) ? new ArrayList<>(storedIds) : List.of());
+        when(repository.findIdsByClassificationAndGender(anyString(), anyString())).thenReturn(List.of());
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<VtuberSongsEntity> songs = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (storedIds.contains(id)) {
+                    songs.add(song(id));
+                }
+            }
+            return songs;
+        });
+
+        // 중간중간 비어 있는 ID 범위
+        LongStream.rangeClosed(1, 600).filter(id -> id % 7 != 0).forEach(storedIds::add);
+        sampler = new RandomSongSampler(repository);
+        sampler.refresh();
+        songService = new SongService(repository, sampler);
+    }
+
+    @Test
+    void cursorWalkReturnsEveryIdOnceAcrossRefresh() {
+        Set<Long> initialIds = new HashSet<>(storedIds);
+        long maxId = storedIds.last();
+        List<Long> returned = new ArrayList<>();
+
+        ShuffledSongsPage page = songService.getShuffledSongsPage("videos", null, 42L, null, PAGE_SIZE);
+        assertThat(page.getSeed()).isEqualTo(42L);
+        for (int i = 0; i < 5; i++) {
+            collect(page, returned);
+            page = songService.getShuffledSongsPage("videos", null, null, page.getNextCursor(), PAGE_SIZE);
+        }
+        collect(page, returned);
+        Set<Long> seenBeforeRefresh = new HashSet<>(returned);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        // 세션 도중 이미 본 노래와 아직 안 본 노래를 삭제하고 새 노래를 추가
+        Set<Long> deleted = new HashSet<>();
+        for (Long id : List.copyOf(storedIds)) {
+            if (id % 5 == 0) {
+                deleted.add(id);
+            }
+        }
+        deleted.add(returned.get(0));
+        storedIds.removeAll(deleted);
+        LongStream.rangeClosed(maxId + 1, maxId + 50).forEach(storedIds::add);
+        sampler.refresh();
+
+        while (page.getNextCursor() != null) {
+            page = songService.getShuffledSongsPage("videos", null, 42L, page.getNextCursor(), PAGE_SIZE);
+            collect(page, returned);
+        }
+
+        Set<Long> expected = new HashSet<>(initialIds);
+        expected.removeAll(deleted);
+        expected.addAll(seenBeforeRefresh);
+        assertThat(returned).doesNotHaveDuplicates();
+        assertThat(new HashSet<>(returned)).isEqualTo(expected);
+        // 세션 시작 후 추가된 노래(maxId 초과)는 이 세션에 나오지 않음
+        assertThat(returned).allMatch(id -> id <= maxId);
+    }
+
+    @Test
+    void sameSeedGivesSameOrder() {
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        collect(songService.getShuffledSongsPage("videos", null, 7L, null, PAGE_SIZE), first);
+        collect(songService.getShuffledSongsPage("videos", "all", 7L, null, PAGE_SIZE), second);
+
+        assertThat(first).isNotEmpty().isEqualTo(second);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        for (String cursor : List.of("abc", "1:2", "1:2:3:4", "1:x:3", "1:600:", "1:-1:0", "1:600:-3",
+                "1:" + (1L << 62) + ":0")) {
+            assertThatThrownBy(() -> songService.getShuffledSongsPage("videos", null, null, cursor, PAGE_SIZE))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void cursorWithDifferentSeedIsRejected() {
+        String cursor = songService.getShuffledSongsPage("videos", null, 42L, null, PAGE_SIZE).getNextCursor();
+
+        assertThat(songService.getShuffledSongsPage("videos", null, 42L, cursor, PAGE_SIZE).getSeed()).isEqualTo(42L);
+        assertThatThrownBy(() -> songService.getShuffledSongsPage("videos", null, 43L, cursor, PAGE_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void collect(ShuffledSongsPage page, List<Long> returned) {
+        for (VtuberSongsEntity song : page.getSongs()) {
+            returned.add(song.getId());
+        }
+    }
+
+    private static VtuberSongsEntity song(long id) {
+        VtuberSongsEntity song = new VtuberSongsEntity();
+        song.setId(id);
+        return song;
+    }
+}